@@ -0,0 +1,68 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deep scans visiting the whole document.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeepScanBenchmark {
+
+    private static final JsonPath PROPERTY = JsonPath.compile("$..author");
+    private static final JsonPath SPARSE_PROPERTY = JsonPath.compile("$..isbn");
+    private static final JsonPath ARRAY_INDEX = JsonPath.compile("$..book[2]");
+    private static final JsonPath FILTER = JsonPath.compile("$..[?(@.price > 10)].title");
+    private static final JsonPath FUNCTION = JsonPath.compile("$..price.sum()");
+
+    @Benchmark
+    public Object property(DocumentState state) {
+        return PROPERTY.read(state.json, state.configuration);
+    }
+
+    @Benchmark
+    public Object sparseProperty(DocumentState state) {
+        return SPARSE_PROPERTY.read(state.json, state.configuration);
+    }
+
+    @Benchmark
+    public Object arrayIndex(DocumentState state) {
+        return ARRAY_INDEX.read(state.json, state.configuration);
+    }
+
+    @Benchmark
+    public Object filter(DocumentState state) {
+        return FILTER.read(state.json, state.configuration);
+    }
+
+    @Benchmark
+    public Object function(DocumentState state) {
+        return FUNCTION.read(state.json, state.configuration);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A parsed document for every combination of provider and document.
+ */
+@State(Scope.Thread)
+public class DocumentState {
+
+    @Param({"JSON_SMART", "JACKSON", "JACKSON_JSON_NODE", "GSON", "JSON_ORG", "JAKARTA", "TAPESTRY", "JETTISON"})
+    public Providers provider;
+
+    @Param({"SMALL", "MEDIUM", "HUGE", "WIDE", "DEEP"})
+    public Documents document;
+
+    public Configuration configuration;
+    public Object json;
+    public DocumentContext context;
+
+    @Setup
+    public void setUp() {
+        configuration = provider.configuration();
+        json = configuration.jsonProvider().parse(document.json());
+        context = JsonPath.using(configuration).parse(json);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import java.util.Random;
+
+/**
+ * Representative documents used by the benchmarks. All documents share the shape of the
+ * classic store document, <code>$.store.book[*]</code> and <code>$.store.bicycle</code>, so that
+ * the same paths can be run against all of them.
+ */
+public enum Documents {
+
+    /**
+     * The store document from the README, four books
+     */
+    SMALL(4, 0, 0),
+
+    /**
+     * One thousand books
+     */
+    MEDIUM(1_000, 0, 0),
+
+    /**
+     * One hundred thousand books
+     */
+    HUGE(100_000, 0, 0),
+
+    /**
+     * One hundred books with five hundred extra properties each
+     */
+    WIDE(100, 500, 0),
+
+    /**
+     * One hundred books each holding an object nested sixty four levels deep
+     */
+    DEEP(100, 0, 64);
+
+    private static final String[] CATEGORIES = {"reference", "fiction", "poetry", "biography"};
+    private static final String[] AUTHORS = {"Nigel Rees", "Evelyn Waugh", "Herman Melville", "J. R. R. Tolkien"};
+    private static final String[] TITLES = {"Sayings of the Century", "Sword of Honour", "Moby Dick", "The Lord of the Rings"};
+
+    private final int books;
+    private final int extraProperties;
+    private final int depth;
+    private String json;
+
+    Documents(int books, int extraProperties, int depth) {
+        this.books = books;
+        this.extraProperties = extraProperties;
+        this.depth = depth;
+    }
+
+    /**
+     * @return the document as a json string, generated on first use
+     */
+    public synchronized String json() {
+        if (json == null) {
+            json = generate();
+        }
+        return json;
+    }
+
+    private String generate() {
+        Random random = new Random(books * 31L + extraProperties * 17L + depth);
+        StringBuilder sb = new StringBuilder(books * (200 + extraProperties * 20 + depth * 12));
+        sb.append("{\"store\":{\"book\":[");
+        for (int i = 0; i < books; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            appendBook(sb, i, random);
+        }
+        sb.append("],\"bicycle\":{\"color\":\"red\",\"price\":19.95}},\"expensive\":10}");
+        return sb.toString();
+    }
+
+    private void appendBook(StringBuilder sb, int i, Random random) {
+        int variant = i % 4;
+        sb.append("{\"category\":\"").append(CATEGORIES[variant]).append('"');
+        sb.append(",\"author\":\"").append(AUTHORS[variant]).append('"');
+        sb.append(",\"title\":\"").append(TITLES[variant]).append(' ').append(i).append('"');
+        if (variant >= 2) {
+            sb.append(",\"isbn\":\"0-").append(100 + random.nextInt(900)).append('-').append(10000 + random.nextInt(90000)).append("-3\"");
+        }
+        sb.append(",\"price\":").append(random.nextInt(3000) / 100.0);
+        sb.append(",\"tags\":[\"t").append(variant).append("\",\"t").append(random.nextInt(10)).append("\"]");
+        for (int p = 0; p < extraProperties; p++) {
+            sb.append(",\"attr").append(p).append("\":").append(random.nextInt(1000));
+        }
+        if (depth > 0) {
+            sb.append(",\"details\":");
+            for (int d = 0; d < depth; d++) {
+                sb.append("{\"level\":").append(d).append(",\"next\":");
+            }
+            sb.append("{\"isbn\":\"leaf\"}");
+            for (int d = 0; d < depth; d++) {
+                sb.append('}');
+            }
+        }
+        sb.append('}');
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inline filters applied to every book.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterBenchmark {
+
+    private static final JsonPath NUMBER_COMPARISON = JsonPath.compile("$.store.book[?(@.price < 10)].title");
+    private static final JsonPath STRING_EQUALITY = JsonPath.compile("$.store.book[?(@.category == 'fiction')].title");
+    private static final JsonPath LOGICAL = JsonPath.compile("$.store.book[?(@.category == 'fiction' && @.price > 10 || @.isbn)].title");
+    private static final JsonPath ROOT_REFERENCE = JsonPath.compile("$.store.book[?(@.price > $.expensive)].title");
+    private static final JsonPath REGEX = JsonPath.compile("$.store.book[?(@.author =~ /.*REES/i)].title");
+    private static final JsonPath IN = JsonPath.compile("$.store.book[?(@.category in ['fiction', 'poetry'])].title");
+    private static final JsonPath EXISTS = JsonPath.compile("$.store.book[?(@.isbn)].title");
+
+    @Benchmark
+    public Object numberComparison(DocumentState state) {
+        return NUMBER_COMPARISON.read(state.json, state.configuration);
+    }
+
+    @Benchmark
+    public Object stringEquality(DocumentState state) {
+        return STRING_EQUALITY.read(state.json, state.configuration);
+    }
+
+    @Benchmark
+    public Object logical(DocumentState state) {
+        return LOGICAL.read(state.json, state.configuration);
+    }
+
+    @Benchmark
+    public Object rootReference(DocumentState state) {
+        return ROOT_REFERENCE.read(state.json, state.configuration);
+    }
+
+    @Benchmark
+    public Object regex(DocumentState state) {
+        return REGEX.read(state.json, state.configuration);
+    }
+
+    @Benchmark
+    public Object in(DocumentState state) {
+        return IN.read(state.json, state.configuration);
+    }
+
+    @Benchmark
+    public Object exists(DocumentState state) {
+        return EXISTS.read(state.json, state.configuration);
+    }
+}
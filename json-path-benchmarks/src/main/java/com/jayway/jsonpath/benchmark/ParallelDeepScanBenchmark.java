@@ -0,0 +1,75 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deep scans over large documents with and without {@link Option#PARALLEL_DEEP_SCAN}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelDeepScanBenchmark {
+
+    private static final JsonPath PROPERTY = JsonPath.compile("$..author");
+    private static final JsonPath FILTER = JsonPath.compile("$..[?(@.price > 10)].title");
+
+    @Param({"HUGE", "WIDE"})
+    public Documents document;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private Configuration configuration;
+    private Object json;
+
+    @Setup
+    public void setUp() {
+        configuration = Providers.JSON_SMART.configuration();
+        if (parallel) {
+            configuration = configuration.addOptions(Option.PARALLEL_DEEP_SCAN);
+        }
+        json = configuration.jsonProvider().parse(document.json());
+    }
+
+    @Benchmark
+    public Object property() {
+        return PROPERTY.read(json, configuration);
+    }
+
+    @Benchmark
+    public Object filter() {
+        return FILTER.read(json, configuration);
+    }
+}
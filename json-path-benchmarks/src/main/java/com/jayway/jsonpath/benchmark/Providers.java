@@ -0,0 +1,89 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.spi.json.GsonJsonProvider;
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
+import com.jayway.jsonpath.spi.json.JakartaJsonProvider;
+import com.jayway.jsonpath.spi.json.JettisonProvider;
+import com.jayway.jsonpath.spi.json.JsonOrgJsonProvider;
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import com.jayway.jsonpath.spi.json.TapestryJsonProvider;
+import com.jayway.jsonpath.spi.mapper.GsonMappingProvider;
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
+import com.jayway.jsonpath.spi.mapper.JakartaMappingProvider;
+import com.jayway.jsonpath.spi.mapper.JsonOrgMappingProvider;
+import com.jayway.jsonpath.spi.mapper.JsonSmartMappingProvider;
+import com.jayway.jsonpath.spi.mapper.TapestryMappingProvider;
+
+/**
+ * The bundled json providers, each with its matching mapping provider.
+ */
+public enum Providers {
+
+    JSON_SMART {
+        @Override
+        public Configuration configuration() {
+            return Configuration.builder().jsonProvider(new JsonSmartJsonProvider()).mappingProvider(new JsonSmartMappingProvider()).build();
+        }
+    },
+    JACKSON {
+        @Override
+        public Configuration configuration() {
+            return Configuration.builder().jsonProvider(new JacksonJsonProvider()).mappingProvider(new JacksonMappingProvider()).build();
+        }
+    },
+    JACKSON_JSON_NODE {
+        @Override
+        public Configuration configuration() {
+            return Configuration.builder().jsonProvider(new JacksonJsonNodeJsonProvider()).mappingProvider(new JacksonMappingProvider()).build();
+        }
+    },
+    GSON {
+        @Override
+        public Configuration configuration() {
+            return Configuration.builder().jsonProvider(new GsonJsonProvider()).mappingProvider(new GsonMappingProvider()).build();
+        }
+    },
+    JSON_ORG {
+        @Override
+        public Configuration configuration() {
+            return Configuration.builder().jsonProvider(new JsonOrgJsonProvider()).mappingProvider(new JsonOrgMappingProvider()).build();
+        }
+    },
+    JAKARTA {
+        @Override
+        public Configuration configuration() {
+            // the mutable variant, the write benchmarks can't run on immutable Jakarta documents
+            return Configuration.builder().jsonProvider(new JakartaJsonProvider(true)).mappingProvider(new JakartaMappingProvider()).build();
+        }
+    },
+    TAPESTRY {
+        @Override
+        public Configuration configuration() {
+            return Configuration.builder().jsonProvider(TapestryJsonProvider.INSTANCE).mappingProvider(new TapestryMappingProvider()).build();
+        }
+    },
+    JETTISON {
+        @Override
+        public Configuration configuration() {
+            return Configuration.builder().jsonProvider(new JettisonProvider()).build();
+        }
+    };
+
+    public abstract Configuration configuration();
+}
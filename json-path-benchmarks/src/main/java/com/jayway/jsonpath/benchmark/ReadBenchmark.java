@@ -0,0 +1,73 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads without filters or deep scans, on precompiled paths and through the path cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadBenchmark {
+
+    private static final JsonPath DEFINITE = JsonPath.compile("$.store.book[3].author");
+    private static final JsonPath WILDCARD = JsonPath.compile("$.store.book[*].author");
+    private static final JsonPath MULTI_PROPERTY = JsonPath.compile("$.store.book[*]['author','title']");
+    private static final JsonPath SLICE = JsonPath.compile("$.store.book[1:3].price");
+    private static final JsonPath FUNCTION = JsonPath.compile("$.store.book.length()");
+
+    @Benchmark
+    public Object definite(DocumentState state) {
+        return DEFINITE.read(state.json, state.configuration);
+    }
+
+    @Benchmark
+    public Object definiteThroughCache(DocumentState state) {
+        return state.context.read("$.store.book[3].author");
+    }
+
+    @Benchmark
+    public Object wildcard(DocumentState state) {
+        return WILDCARD.read(state.json, state.configuration);
+    }
+
+    @Benchmark
+    public Object multiProperty(DocumentState state) {
+        return MULTI_PROPERTY.read(state.json, state.configuration);
+    }
+
+    @Benchmark
+    public Object slice(DocumentState state) {
+        return SLICE.read(state.json, state.configuration);
+    }
+
+    @Benchmark
+    public Object function(DocumentState state) {
+        return FUNCTION.read(state.json, state.configuration);
+    }
+}
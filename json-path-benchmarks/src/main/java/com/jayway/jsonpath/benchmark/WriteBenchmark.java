@@ -0,0 +1,65 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.DocumentContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes through {@link DocumentContext}. Every benchmark leaves the document unchanged after its first
+ * invocation, so the document can be parsed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WriteBenchmark {
+
+    @Benchmark
+    public DocumentContext setDefinite(DocumentState state) {
+        return state.context.set("$.store.bicycle.color", "red");
+    }
+
+    @Benchmark
+    public DocumentContext setWildcard(DocumentState state) {
+        return state.context.set("$.store.book[*].category", "fiction");
+    }
+
+    @Benchmark
+    public DocumentContext setFiltered(DocumentState state) {
+        return state.context.set("$.store.book[?(@.price > 25)].price", 25.5);
+    }
+
+    @Benchmark
+    public DocumentContext deleteAndPut(DocumentState state) {
+        state.context.delete("$.store.bicycle.price");
+        return state.context.put("$.store.bicycle", "price", 19.95);
+    }
+
+    @Benchmark
+    public DocumentContext addAndDelete(DocumentState state) {
+        state.context.add("$.store.book[0].tags", "benchmark");
+        return state.context.delete("$.store.book[0].tags[2]");
+    }
+}
@@ -15,6 +15,7 @@
 package com.jayway.jsonpath;
 
 import com.jayway.jsonpath.internal.DefaultsImpl;
+import com.jayway.jsonpath.spi.cache.Cache;
 import com.jayway.jsonpath.spi.json.JsonProvider;
 import com.jayway.jsonpath.spi.mapper.MappingProvider;
 import com.jayway.jsonpath.spi.transformer.TransformationProvider;
@@ -57,7 +58,9 @@ public class Configuration {
 
     private final Collection<EvaluationListener> evaluationListeners;
 
-    private Configuration(JsonProvider jsonProvider, MappingProvider mappingProvider, TransformationProvider transformationProvider, EnumSet<Option> options, Collection<EvaluationListener> evaluationListeners) {
+    private final Cache cache;
+
+    private Configuration(JsonProvider jsonProvider, MappingProvider mappingProvider, TransformationProvider transformationProvider, EnumSet<Option> options, Collection<EvaluationListener> evaluationListeners, Cache cache) {
         notNull(jsonProvider, "jsonProvider can not be null");
         notNull(mappingProvider, "mappingProvider can not be null");
         notNull(options, "setOptions can not be null");
@@ -67,6 +70,7 @@ public class Configuration {
         this.options = Collections.unmodifiableSet(options);
         this.evaluationListeners = Collections.unmodifiableCollection(evaluationListeners);
         this.transformationProvider = transformationProvider;
+        this.cache = cache;
     }
 
     /**
@@ -76,7 +80,7 @@ public class Configuration {
      * @return a new configuration
      */
     public Configuration addEvaluationListeners(EvaluationListener... evaluationListener) {
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListener).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListener).cache(cache).build();
     }
 
     /**
@@ -86,7 +90,7 @@ public class Configuration {
      * @return a new configuration
      */
     public Configuration setEvaluationListeners(EvaluationListener... evaluationListener) {
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListener).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListener).cache(cache).build();
     }
 
     /**
@@ -105,7 +109,7 @@ public class Configuration {
      * @return a new configuration
      */
     public Configuration jsonProvider(JsonProvider newJsonProvider) {
-        return Configuration.builder().jsonProvider(newJsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).build();
+        return Configuration.builder().jsonProvider(newJsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).cache(cache).build();
     }
 
     /**
@@ -124,7 +128,7 @@ public class Configuration {
      * @return a new configuration
      */
     public Configuration mappingProvider(MappingProvider newMappingProvider) {
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(newMappingProvider).options(options).evaluationListener(evaluationListeners).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(newMappingProvider).options(options).evaluationListener(evaluationListeners).cache(cache).build();
     }
 
     /**
@@ -136,6 +140,26 @@ public class Configuration {
         return mappingProvider;
     }
 
+    /**
+     * Creates a new Configuration that uses the given {@link com.jayway.jsonpath.spi.cache.Cache} for compiled paths
+     * instead of the global cache registered in {@link com.jayway.jsonpath.spi.cache.CacheProvider}
+     *
+     * @param newCache cache to use in new configuration, null to use the default cache
+     * @return a new configuration
+     */
+    public Configuration cache(Cache newCache) {
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).cache(newCache).build();
+    }
+
+    /**
+     * Returns the {@link com.jayway.jsonpath.spi.cache.Cache} used by this configuration
+     *
+     * @return the configured cache or null if the global cache is used
+     */
+    public Cache cache() {
+        return cache;
+    }
+
     /**
      * Creates a new configuration by adding the new options to the options used in this configuration.
      *
@@ -146,7 +170,7 @@ public class Configuration {
         EnumSet<Option> opts = EnumSet.noneOf(Option.class);
         opts.addAll(this.options);
         opts.addAll(asList(options));
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(opts).evaluationListener(evaluationListeners).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(opts).evaluationListener(evaluationListeners).cache(cache).build();
     }
 
     /**
@@ -156,7 +180,7 @@ public class Configuration {
      * @return the new configuration instance
      */
     public Configuration setOptions(Option... options) {
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).cache(cache).build();
     }
 
     /**
@@ -220,6 +244,7 @@ public class Configuration {
 
         private EnumSet<Option> options = EnumSet.noneOf(Option.class);
         private Collection<EvaluationListener> evaluationListener = new ArrayList<EvaluationListener>();
+        private Cache cache;
 
         public ConfigurationBuilder jsonProvider(JsonProvider provider) {
             this.jsonProvider = provider;
@@ -260,6 +285,11 @@ public class Configuration {
             return this;
         }
 
+        public ConfigurationBuilder cache(Cache cache) {
+            this.cache = cache;
+            return this;
+        }
+
         public Configuration build() {
             if (jsonProvider == null || mappingProvider == null || transformationProvider == null) {
                 final Defaults defaults = getEffectiveDefaults();
@@ -274,7 +304,10 @@ public class Configuration {
                     transformationProvider = defaults.transformationProvider();
                 }
             }
-            return new Configuration(jsonProvider, mappingProvider, transformationProvider, options, evaluationListener);
+            if (cache == null) {
+                cache = getEffectiveDefaults().cache();
+            }
+            return new Configuration(jsonProvider, mappingProvider, transformationProvider, options, evaluationListener, cache);
         }
     }
 
@@ -309,6 +342,15 @@ public class Configuration {
             return new JsonPathTransformationProvider();
         }
 
+        /**
+         * Returns the default {@link com.jayway.jsonpath.spi.cache.Cache}, null to use the global cache
+         *
+         * @return default cache
+         */
+        default Cache cache() {
+            return null;
+        }
+
 
     }
 
@@ -15,4 +15,32 @@
 package com.jayway.jsonpath;
 
 public interface DocumentContext extends ReadContext, WriteContext {
+
+    /**
+     * Indexes the elements of an array by one of their properties. Filters over the array comparing the
+     * property with a literal, like {@code [?(@.sku == 'X')]}, {@code [?(@.sku in ['X', 'Y'])]} or
+     * {@code [?(@.price < 10)]}, are then only applied to the elements the index finds for the literal
+     * instead of to every element. Reads give the same results with and without the index.
+     * <p>
+     * The index is built on the first read after it was added and rebuilt on the first read after the document
+     * was modified through this context. Modifying the document otherwise leaves the index stale.
+     *
+     * <pre>
+     * <code>
+     * DocumentContext catalog = JsonPath.parse(json);
+     * catalog.index("$.products[*]", "sku");
+     *
+     * List&lt;Map&lt;String, Object&gt;&gt; products = catalog.read("$.products[?(@.sku == 'X')]");
+     * </code>
+     * </pre>
+     * <p>
+     * The default implementation does not index anything, reads are applied to every element as before.
+     *
+     * @param path     path to all elements of an array, like $.products[*]
+     * @param property property to index the elements by
+     * @return a document context
+     */
+    default DocumentContext index(String path, String property) {
+        return this;
+    }
 }
@@ -16,6 +16,7 @@ package com.jayway.jsonpath;
 
 
 import com.jayway.jsonpath.internal.*;
+import com.jayway.jsonpath.internal.path.CompiledPath;
 import com.jayway.jsonpath.internal.path.PathCompiler;
 import com.jayway.jsonpath.spi.json.JsonProvider;
 
@@ -23,7 +24,9 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URL;
+import java.util.function.Consumer;
 
 import static com.jayway.jsonpath.Option.ALWAYS_RETURN_LIST;
 import static com.jayway.jsonpath.Option.AS_PATH_LIST;
@@ -90,6 +93,15 @@ import static com.jayway.jsonpath.internal.Utils.*;
  */
 public class JsonPath {
 
+    static {
+        IndexedReader.install(new IndexedReader() {
+            @Override
+            protected <T> T read(JsonPath path, Object json, Configuration configuration, DocumentIndex documentIndex) {
+                return path.read(json, configuration, documentIndex);
+            }
+        });
+    }
+
     private final Path path;
 
     private JsonPath(String jsonPath, Predicate[] filters) {
@@ -97,6 +109,10 @@ public class JsonPath {
         this.path = PathCompiler.compile(jsonPath, filters);
     }
 
+    Path compiledPath() {
+        return path;
+    }
+
     /**
      * Returns the string representation of this JsonPath
      *
@@ -139,6 +155,19 @@ public class JsonPath {
         return path.isDefinite();
     }
 
+    /**
+     * Checks if this path can be evaluated by {@link #readStreaming(InputStream, Configuration)} without parsing
+     * the whole document. That is the case unless the path uses functions, filters that read the root document ($)
+     * or a deep scan followed by a filter or a non-leaf array index, or the configuration contains
+     * {@link Option#REQUIRE_PROPERTIES} or {@link Option#CREATE_MISSING_PROPERTIES_ON_DEFINITE_PATH}.
+     *
+     * @param configuration configuration to use
+     * @return true if this path can be evaluated on a stream
+     */
+    public boolean isStreamable(Configuration configuration) {
+        return path.isStreamable(configuration);
+    }
+
     /**
      * Checks if a path is a Function Path.
      * function path examples are:
@@ -177,8 +206,12 @@ public class JsonPath {
      * @param <T>           expected return type
      * @return object(s) matched by the given path
      */
-    @SuppressWarnings("unchecked")
     public <T> T read(Object jsonObject, Configuration configuration) {
+        return read(jsonObject, configuration, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T read(Object jsonObject, Configuration configuration, DocumentIndex documentIndex) {
         boolean optAsPathList = configuration.containsOption(AS_PATH_LIST);
         boolean optAlwaysReturnList = configuration.containsOption(Option.ALWAYS_RETURN_LIST);
         boolean optSuppressExceptions = configuration.containsOption(Option.SUPPRESS_EXCEPTIONS);
@@ -190,34 +223,101 @@ public class JsonPath {
                 }
                 throw new JsonPathException("Options " + AS_PATH_LIST + " and " + ALWAYS_RETURN_LIST + " are not allowed when using path functions!");
             }
-            EvaluationContext evaluationContext = path.evaluate(jsonObject, jsonObject, configuration);
-            if (optSuppressExceptions && evaluationContext.getPathList().isEmpty()) {
+            EvaluationContext evaluationContext = evaluateValues(jsonObject, configuration, documentIndex);
+            if (optSuppressExceptions && !evaluationContext.hasResults()) {
                 return (T) (path.isDefinite() ? null : configuration.jsonProvider().createArray());
             }
             return evaluationContext.getValue(true);
-        } else if (optAsPathList) {
-            EvaluationContext evaluationContext = path.evaluate(jsonObject, jsonObject, configuration);
-            if (optSuppressExceptions && evaluationContext.getPathList().isEmpty()) {
-                return (T) configuration.jsonProvider().createArray();
+        }
+        if (path instanceof CompiledPath) {
+            Object value = ((CompiledPath) path).readDefinite(jsonObject, configuration);
+            if (value != CompiledPath.EVALUATE) {
+                return definiteResult(value, configuration);
             }
-            return (T) evaluationContext.getPath();
+        }
+        if (optAsPathList && documentIndex == null) {
+            return resultOf(path.evaluate(jsonObject, jsonObject, configuration), configuration);
         } else {
-            EvaluationContext evaluationContext = path.evaluate(jsonObject, jsonObject, configuration);
-            if (optSuppressExceptions && evaluationContext.getPathList().isEmpty()) {
-                if (optAlwaysReturnList) {
-                    return (T) configuration.jsonProvider().createArray();
-                } else {
-                    return (T) (path.isDefinite() ? null : configuration.jsonProvider().createArray());
-                }
-            }
-            Object res = evaluationContext.getValue(false);
-            if (optAlwaysReturnList && path.isDefinite()) {
-                Object array = configuration.jsonProvider().createArray();
-                configuration.jsonProvider().setArrayIndex(array, 0, res);
-                return (T) array;
-            } else {
-                return (T) res;
+            // paths are recorded for AS_PATH_LIST anyway
+            return resultOf(evaluateValues(jsonObject, configuration, documentIndex), configuration);
+        }
+    }
+
+    /**
+     * Converts the result of {@link CompiledPath#readDefinite(Object, Configuration)} like
+     * {@link #resultOf(EvaluationContext, Configuration)} converts the evaluation of a definite path.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T definiteResult(Object value, Configuration configuration) {
+        if (value == CompiledPath.NOT_FOUND) {
+            if (configuration.containsOption(Option.SUPPRESS_EXCEPTIONS)) {
+                return (T) (configuration.containsOption(Option.ALWAYS_RETURN_LIST) ? configuration.jsonProvider().createArray() : null);
             }
+            throw new PathNotFoundException("No results for path: " + path.toString());
+        }
+        if (configuration.containsOption(Option.ALWAYS_RETURN_LIST)) {
+            Object array = configuration.jsonProvider().createArray();
+            configuration.jsonProvider().setArrayIndex(array, 0, value);
+            return (T) array;
+        }
+        return (T) value;
+    }
+
+    private EvaluationContext evaluateValues(Object jsonObject, Configuration configuration, DocumentIndex documentIndex) {
+        if (documentIndex == null) {
+            return path.evaluateValues(jsonObject, jsonObject, configuration);
+        }
+        return path.evaluateValues(jsonObject, jsonObject, configuration, documentIndex);
+    }
+
+    /**
+     * Applies this JsonPath to the provided json document and hands every match to the given action as it is
+     * found, without collecting the matches in a result array first.
+     * <p>
+     * The action receives the same objects as the elements of the list returned by {@link #read(Object, Configuration)},
+     * or the paths if the configuration contains {@link Option#AS_PATH_LIST}. A definite path without a match throws
+     * {@link PathNotFoundException} unless {@link Option#SUPPRESS_EXCEPTIONS} is set. A function path hands over the
+     * single result of the function.
+     *
+     * @param jsonObject    a container Object
+     * @param configuration configuration to use
+     * @param action        action to receive the matches
+     * @param <T>           expected type of the matches
+     */
+    public <T> void forEach(Object jsonObject, Configuration configuration, final Consumer<? super T> action) {
+        notNull(action, "action can not be null");
+        this.<T>forEachWhile(jsonObject, configuration, match -> {
+            action.accept(match);
+            return true;
+        });
+    }
+
+    /**
+     * Applies this JsonPath to the provided json document and hands every match to the given action as it is
+     * found. The evaluation stops as soon as the action returns false.
+     *
+     * @param jsonObject    a container Object
+     * @param configuration configuration to use
+     * @param action        action to receive the matches, returns false to stop the evaluation
+     * @param <T>           expected type of the matches
+     * @see #forEach(Object, Configuration, Consumer)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void forEachWhile(Object jsonObject, Configuration configuration, final java.util.function.Predicate<? super T> action) {
+        notNull(jsonObject, "json can not be null");
+        notNull(configuration, "configuration can not be null");
+        notNull(action, "action can not be null");
+
+        if (path.isFunctionPath()) {
+            action.test((T) read(jsonObject, configuration));
+            return;
+        }
+        final boolean optAsPathList = configuration.containsOption(AS_PATH_LIST);
+        EvaluationContext evaluationContext = path.evaluate(jsonObject, jsonObject, configuration,
+                (evaluationPath, value) -> action.test((T) (optAsPathList ? evaluationPath.toString() : value)));
+
+        if (!evaluationContext.hasResults() && path.isDefinite() && !configuration.containsOption(Option.SUPPRESS_EXCEPTIONS)) {
+            throw new PathNotFoundException("No results for path: " + path.toString());
         }
     }
 
@@ -233,7 +333,7 @@ public class JsonPath {
         notNull(jsonObject, "json can not be null");
         notNull(configuration, "configuration can not be null");
         EvaluationContext evaluationContext = path.evaluate(jsonObject, jsonObject, configuration, true);
-        if (evaluationContext.getPathList().isEmpty()) {
+        if (!evaluationContext.hasResults()) {
             boolean optSuppressExceptions = configuration.containsOption(Option.SUPPRESS_EXCEPTIONS);
             if (optSuppressExceptions) {
                 return handleMissingPathInContext(configuration);
@@ -261,7 +361,7 @@ public class JsonPath {
         notNull(configuration, "configuration can not be null");
         notNull(mapFunction, "mapFunction can not be null");
         EvaluationContext evaluationContext = path.evaluate(jsonObject, jsonObject, configuration, true);
-        if (evaluationContext.getPathList().isEmpty()) {
+        if (!evaluationContext.hasResults()) {
             boolean optSuppressExceptions = configuration.containsOption(Option.SUPPRESS_EXCEPTIONS);
             if (optSuppressExceptions) {
                 return handleMissingPathInContext(configuration);
@@ -288,7 +388,7 @@ public class JsonPath {
         notNull(jsonObject, "json can not be null");
         notNull(configuration, "configuration can not be null");
         EvaluationContext evaluationContext = path.evaluate(jsonObject, jsonObject, configuration, true);
-        if (evaluationContext.getPathList().isEmpty()) {
+        if (!evaluationContext.hasResults()) {
             boolean optSuppressExceptions = configuration.containsOption(Option.SUPPRESS_EXCEPTIONS);
             if (optSuppressExceptions) {
                 return handleMissingPathInContext(configuration);
@@ -315,7 +415,7 @@ public class JsonPath {
         notNull(jsonObject, "json can not be null");
         notNull(configuration, "configuration can not be null");
         EvaluationContext evaluationContext = path.evaluate(jsonObject, jsonObject, configuration, true);
-        if (evaluationContext.getPathList().isEmpty()) {
+        if (!evaluationContext.hasResults()) {
             boolean optSuppressExceptions = configuration.containsOption(Option.SUPPRESS_EXCEPTIONS);
             if (optSuppressExceptions) {
                 return handleMissingPathInContext(configuration);
@@ -344,7 +444,7 @@ public class JsonPath {
         notEmpty(key, "key can not be null or empty");
         notNull(configuration, "configuration can not be null");
         EvaluationContext evaluationContext = path.evaluate(jsonObject, jsonObject, configuration, true);
-        if (evaluationContext.getPathList().isEmpty()) {
+        if (!evaluationContext.hasResults()) {
             boolean optSuppressExceptions = configuration.containsOption(Option.SUPPRESS_EXCEPTIONS);
             if (optSuppressExceptions) {
                 return handleMissingPathInContext(configuration);
@@ -510,6 +610,65 @@ public class JsonPath {
         }
     }
 
+    /**
+     * Applies this JsonPath to the provided json input stream without parsing the whole document. Only
+     * the values the path has to look at are parsed, so memory use depends on the size of the results
+     * rather than the size of the document.
+     * <p>
+     * Results are in document order, which for deep scans can differ from the order of {@link #read(Object)}.
+     * The stream must contain standard JSON. Paths that can not be evaluated on a stream, see
+     * {@link #isStreamable(Configuration)}, are evaluated on the fully parsed document.
+     *
+     * @param jsonInputStream input stream to read from
+     * @param <T>             expected return type
+     * @return list of objects matched by the given path
+     * @throws IOException
+     */
+    public <T> T readStreaming(InputStream jsonInputStream) throws IOException {
+        return readStreaming(jsonInputStream, Configuration.defaultConfiguration());
+    }
+
+    /**
+     * Applies this JsonPath to the provided json input stream without parsing the whole document.
+     *
+     * @param jsonInputStream input stream to read from
+     * @param configuration   configuration to use
+     * @param <T>             expected return type
+     * @return list of objects matched by the given path
+     * @throws IOException
+     * @see #readStreaming(InputStream)
+     */
+    public <T> T readStreaming(InputStream jsonInputStream, Configuration configuration) throws IOException {
+        return readStreaming(jsonInputStream, "UTF-8", configuration);
+    }
+
+    /**
+     * Applies this JsonPath to the provided json input stream without parsing the whole document.
+     *
+     * @param jsonInputStream input stream to read from
+     * @param charset         charset of the input stream
+     * @param configuration   configuration to use
+     * @param <T>             expected return type
+     * @return list of objects matched by the given path
+     * @throws IOException
+     * @see #readStreaming(InputStream)
+     */
+    public <T> T readStreaming(InputStream jsonInputStream, String charset, Configuration configuration) throws IOException {
+        notNull(jsonInputStream, "json input stream can not be null");
+        notNull(charset, "charset can not be null");
+        notNull(configuration, "configuration can not be null");
+
+        if (!path.isStreamable(configuration)) {
+            return read(jsonInputStream, charset, configuration);
+        }
+        try {
+            return resultOf(path.evaluateStream(new InputStreamReader(jsonInputStream, charset), configuration), configuration);
+        } finally {
+            Utils.closeQuietly(jsonInputStream);
+        }
+    }
+
+
     // --------------------------------------------------------
     //
     // Static factory methods
@@ -751,6 +910,39 @@ public class JsonPath {
         return new ParseContextImpl(configuration).parse(json);
     }
 
+    /**
+     * Converts the evaluation context of this path, unless it is a function path, to the result of
+     * {@link #read(Object, Configuration)}.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T resultOf(EvaluationContext evaluationContext, Configuration configuration) {
+        boolean optAlwaysReturnList = configuration.containsOption(Option.ALWAYS_RETURN_LIST);
+        boolean optSuppressExceptions = configuration.containsOption(Option.SUPPRESS_EXCEPTIONS);
+
+        if (configuration.containsOption(AS_PATH_LIST)) {
+            if (optSuppressExceptions && !evaluationContext.hasResults()) {
+                return (T) configuration.jsonProvider().createArray();
+            }
+            return (T) evaluationContext.getPath();
+        } else {
+            if (optSuppressExceptions && !evaluationContext.hasResults()) {
+                if (optAlwaysReturnList) {
+                    return (T) configuration.jsonProvider().createArray();
+                } else {
+                    return (T) (path.isDefinite() ? null : configuration.jsonProvider().createArray());
+                }
+            }
+            Object res = evaluationContext.getValue(false);
+            if (optAlwaysReturnList && path.isDefinite()) {
+                Object array = configuration.jsonProvider().createArray();
+                configuration.jsonProvider().setArrayIndex(array, 0, res);
+                return (T) array;
+            } else {
+                return (T) res;
+            }
+        }
+    }
+
     private <T> T resultByConfiguration(Object jsonObject, Configuration configuration, EvaluationContext evaluationContext) {
         if (configuration.containsOption(AS_PATH_LIST)) {
             return (T) evaluationContext.getPathList();
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.path.BatchEvaluator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.jayway.jsonpath.internal.Utils.notNull;
+
+/**
+ * A set of {@link JsonPath}s that are read together in one traversal of a document. Property and array index
+ * lookups the paths have in common at their start are done once for all of them.
+ * <p/>
+ * <code>
+ * JsonPathBatch batch = JsonPathBatch.compile("$.payload.order.id", "$.payload.order.items[*].sku");
+ * Map&lt;JsonPath, Object&gt; results = batch.read(json);
+ * </code>
+ * <p/>
+ * Compile a batch once and reuse it, it is immutable and thread safe.
+ */
+public final class JsonPathBatch {
+
+    private final List<JsonPath> paths;
+    private final BatchEvaluator evaluator;
+
+    private JsonPathBatch(Collection<JsonPath> paths) {
+        notNull(paths, "paths can not be null");
+        for (JsonPath path : paths) {
+            notNull(path, "path can not be null");
+        }
+        this.paths = Collections.unmodifiableList(new ArrayList<JsonPath>(paths));
+        List<Path> compiled = new ArrayList<Path>(this.paths.size());
+        for (JsonPath path : this.paths) {
+            // function paths gain nothing from sharing a traversal, they are read on their own
+            if (!path.isFunctionPath()) {
+                compiled.add(path.compiledPath());
+            }
+        }
+        this.evaluator = new BatchEvaluator(compiled);
+    }
+
+    /**
+     * Compiles a batch of paths
+     *
+     * @param paths paths to read together
+     * @return compiled batch
+     */
+    public static JsonPathBatch compile(Collection<JsonPath> paths) {
+        return new JsonPathBatch(paths);
+    }
+
+    /**
+     * Compiles a batch of paths
+     *
+     * @param paths paths to read together
+     * @return compiled batch
+     */
+    public static JsonPathBatch compile(String... paths) {
+        notNull(paths, "paths can not be null");
+        List<JsonPath> compiled = new ArrayList<JsonPath>(paths.length);
+        for (String path : paths) {
+            compiled.add(JsonPath.compile(path));
+        }
+        return new JsonPathBatch(compiled);
+    }
+
+    /**
+     * @return the paths of this batch, in the order they were given
+     */
+    public List<JsonPath> getPaths() {
+        return paths;
+    }
+
+    /**
+     * Reads all paths of this batch from the provided json document.
+     *
+     * @param jsonObject a container Object
+     * @return the result of every path of {@link #getPaths()}, in that order
+     * @see #read(Object, Configuration)
+     */
+    public Map<JsonPath, Object> read(Object jsonObject) {
+        return read(jsonObject, Configuration.defaultConfiguration());
+    }
+
+    /**
+     * Reads all paths of this batch from the provided json document. The result of each path is the same as
+     * the result of {@link JsonPath#read(Object, Configuration)}, including the exceptions thrown: if a path
+     * throws, so does the batch.
+     *
+     * @param jsonObject    a container Object
+     * @param configuration configuration to use
+     * @return the result of every path of {@link #getPaths()}, in that order
+     */
+    public Map<JsonPath, Object> read(Object jsonObject, Configuration configuration) {
+        notNull(jsonObject, "json can not be null");
+        notNull(configuration, "configuration can not be null");
+
+        EvaluationContext[] contexts = evaluator.evaluate(jsonObject, configuration);
+        Map<JsonPath, Object> results = new LinkedHashMap<JsonPath, Object>();
+        int i = 0;
+        for (JsonPath path : paths) {
+            if (path.isFunctionPath()) {
+                results.put(path, path.read(jsonObject, configuration));
+            } else {
+                results.put(path, path.resultOf(contexts[i++], configuration));
+            }
+        }
+        return results;
+    }
+}
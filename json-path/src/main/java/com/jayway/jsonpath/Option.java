@@ -113,7 +113,18 @@ public enum Option {
      * ]
      * </pre>
      */
-    CREATE_MISSING_PROPERTIES_ON_DEFINITE_PATH
+    CREATE_MISSING_PROPERTIES_ON_DEFINITE_PATH,
+
+    /**
+     * Lets deep scans (..) walk large arrays and objects on several threads of the common
+     * {@link java.util.concurrent.ForkJoinPool}. Arrays and objects with fewer than 1024 elements are walked
+     * sequentially.
+     * <p>
+     * Results are returned in the same order as without this option. Deep scans followed by functions or by
+     * {@link Predicate}s that are not filter expressions, updates and
+     * {@link Option#CREATE_MISSING_PROPERTIES_ON_DEFINITE_PATH} are always evaluated sequentially.
+     */
+    PARALLEL_DEEP_SCAN
 
 
 }
@@ -14,6 +14,8 @@
  */
 package com.jayway.jsonpath;
 
+import java.util.Map;
+
 public interface ReadContext {
 
     /**
@@ -77,6 +79,16 @@ public interface ReadContext {
      */
     <T> T read(JsonPath path, Class<T> type);
 
+    /**
+     * Reads all paths of the given batch from this context in one traversal
+     *
+     * @param batch paths to apply
+     * @return the result of every path of the batch
+     */
+    default Map<JsonPath, Object> read(JsonPathBatch batch) {
+        return batch.read(json(), configuration());
+    }
+
     /**
      * Reads the given path from this context
      *
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.JsonPathException;
+import com.jayway.jsonpath.Predicate;
+import com.jayway.jsonpath.internal.filter.PropertyIndex;
+import com.jayway.jsonpath.internal.path.PathCompiler;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.jayway.jsonpath.internal.Utils.notEmpty;
+
+/**
+ * The secondary indexes of a document, see {@link com.jayway.jsonpath.DocumentContext#index(String, String)}.
+ * <p>
+ * Only the definitions of the indexes are kept, the indexes themselves are built when they are first looked up
+ * and dropped by {@link #invalidate()} when the document is modified. The indexed arrays are found by identity,
+ * so a filter applied to an indexed array uses the index no matter which path reached the array.
+ */
+public final class DocumentIndex {
+
+    private static final String ALL_ELEMENTS = "[*]";
+
+    private final Object document;
+    private final Configuration configuration;
+    private final List<Path> arrayPaths = new ArrayList<Path>();
+    private final List<String> properties = new ArrayList<String>();
+    private volatile boolean empty = true;
+    private volatile Map<Object, Map<String, PropertyIndex>> indexes;
+
+    public DocumentIndex(Object document, Configuration configuration) {
+        this.document = document;
+        this.configuration = configuration;
+    }
+
+    /**
+     * @return true if no index was added
+     */
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * Adds an index of the elements of an array by one of their properties
+     *
+     * @param path     path to the elements of the array, like $.products[*]
+     * @param property property to index the elements by
+     */
+    public synchronized void add(String path, String property) {
+        notEmpty(path, "path can not be null or empty");
+        notEmpty(property, "property can not be null or empty");
+        String trimmed = path.trim();
+        Path arrayPath = null;
+        if (trimmed.endsWith(ALL_ELEMENTS)) {
+            arrayPath = PathCompiler.compile(trimmed.substring(0, trimmed.length() - ALL_ELEMENTS.length()));
+        }
+        if (arrayPath == null || !arrayPath.isDefinite() || arrayPath.isFunctionPath()) {
+            throw new InvalidPathException("Only all elements of a definite path can be indexed, like $.products[*]. Path: " + path);
+        }
+        arrayPaths.add(arrayPath);
+        properties.add(property);
+        indexes = null;
+        empty = false;
+    }
+
+    /**
+     * Drops the indexes, they are built again when they are looked up next
+     */
+    public synchronized void invalidate() {
+        indexes = null;
+    }
+
+    /**
+     * Looks up the elements of the given array all of the given predicates might match
+     *
+     * @param array        array the predicates are applied to
+     * @param predicates   predicates to look up
+     * @param jsonProvider provider the array is read with
+     * @return the positions of the candidates in ascending order, null if the array is not indexed or the
+     * predicates can not be looked up
+     */
+    public BitSet candidates(Object array, Collection<Predicate> predicates, JsonProvider jsonProvider) {
+        Map<String, PropertyIndex> byProperty = indexes().get(array);
+        if (byProperty == null) {
+            return null;
+        }
+        if (byProperty.values().iterator().next().size() != jsonProvider.length(array)) {
+            // modified without going through the document context
+            return null;
+        }
+        BitSet result = null;
+        for (Predicate predicate : predicates) {
+            BitSet candidates = PropertyIndex.candidates(predicate, byProperty);
+            if (result == null) {
+                result = candidates;
+            } else if (candidates != null) {
+                result.and(candidates);
+            }
+        }
+        return result;
+    }
+
+    private Map<Object, Map<String, PropertyIndex>> indexes() {
+        Map<Object, Map<String, PropertyIndex>> result = indexes;
+        if (result == null) {
+            result = build();
+        }
+        return result;
+    }
+
+    private synchronized Map<Object, Map<String, PropertyIndex>> build() {
+        if (indexes != null) {
+            return indexes;
+        }
+        // resolving the indexed arrays is not part of any evaluation the listeners should hear of
+        Configuration configuration = this.configuration.setEvaluationListeners();
+        JsonProvider jsonProvider = configuration.jsonProvider();
+        Map<Object, Map<String, PropertyIndex>> result = new IdentityHashMap<Object, Map<String, PropertyIndex>>();
+        for (int i = 0; i < arrayPaths.size(); i++) {
+            Object array;
+            try {
+                array = arrayPaths.get(i).evaluate(document, document, configuration).getValue(false);
+            } catch (JsonPathException e) {
+                continue;
+            }
+            if (!jsonProvider.isArray(array)) {
+                continue;
+            }
+            Map<String, PropertyIndex> byProperty = result.get(array);
+            if (byProperty == null) {
+                byProperty = new HashMap<String, PropertyIndex>();
+                result.put(array, byProperty);
+            }
+            byProperty.put(properties.get(i), PropertyIndex.build(array, properties.get(i), jsonProvider));
+        }
+        indexes = result;
+        return result;
+    }
+}
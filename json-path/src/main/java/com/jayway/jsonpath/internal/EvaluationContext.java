@@ -15,6 +15,7 @@
 package com.jayway.jsonpath.internal;
 
 import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.internal.function.Parameter;
 
 import java.util.Collection;
 import java.util.List;
@@ -68,6 +69,36 @@ public interface EvaluationContext {
      */
     List<String> getPathList();
 
+    /**
+     * Tells if the evaluation found any results. Unlike {@link #getPathList()} this works
+     * even if result paths were not recorded.
+     *
+     * @return true if there is at least one result
+     */
+    default boolean hasResults() {
+        return !getPathList().isEmpty();
+    }
+
     Collection<PathRef> updateOperations();
 
+    /**
+     * Returns the value of a function parameter. Path parameters are evaluated against the root document at most
+     * once per context.
+     *
+     * @param parameter a parameter of a function called by the path
+     * @return the value of the parameter
+     */
+    Object parameterValue(Parameter parameter);
+
+    /**
+     * Tells if the function being invoked runs only once in this evaluation. A function following a wildcard, a
+     * deep scan or a filter runs for every item, and should read its parameters with {@link #parameterValue(Parameter)}
+     * so that they are evaluated once.
+     *
+     * @return true if the function being invoked is not invoked again by this evaluation
+     */
+    default boolean isFunctionInvokedOnce() {
+        return false;
+    }
+
 }
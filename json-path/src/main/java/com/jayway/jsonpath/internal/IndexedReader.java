@@ -0,0 +1,60 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * Reads a {@link JsonPath} with the indexes of a document for {@link JsonContext}. The read is not part of the
+ * API of JsonPath, the single reader is installed by JsonPath when the class is initialized.
+ */
+public abstract class IndexedReader {
+
+    private static volatile IndexedReader instance;
+
+    protected IndexedReader() {
+    }
+
+    /**
+     * Installs the reader, only done by {@link JsonPath}
+     *
+     * @param reader the reader
+     * @throws IllegalStateException if a reader is installed already
+     */
+    public static synchronized void install(IndexedReader reader) {
+        if (instance != null) {
+            throw new IllegalStateException("The indexed reader is installed already");
+        }
+        instance = reader;
+    }
+
+    static IndexedReader instance() {
+        return instance;
+    }
+
+    /**
+     * Applies the path to the document like {@link JsonPath#read(Object, Configuration)}, filters over indexed
+     * arrays are looked up in the index.
+     *
+     * @param path          path to read
+     * @param json          the indexed document
+     * @param configuration configuration to use
+     * @param documentIndex indexes of the document
+     * @param <T>           expected return type
+     * @return object(s) matched by the given path
+     */
+    protected abstract <T> T read(JsonPath path, Object json, Configuration configuration, DocumentIndex documentIndex);
+}
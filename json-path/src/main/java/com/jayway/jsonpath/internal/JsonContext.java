@@ -18,6 +18,7 @@ import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.EvaluationListener;
 import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.JsonPathBatch;
 import com.jayway.jsonpath.MapFunction;
 import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.Predicate;
@@ -25,12 +26,14 @@ import com.jayway.jsonpath.ReadContext;
 import com.jayway.jsonpath.TypeRef;
 import com.jayway.jsonpath.spi.cache.Cache;
 import com.jayway.jsonpath.spi.cache.CacheProvider;
+import com.jayway.jsonpath.spi.cache.StatsCache;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static com.jayway.jsonpath.JsonPath.compile;
 import static com.jayway.jsonpath.internal.Utils.notEmpty;
@@ -42,12 +45,20 @@ public class JsonContext implements DocumentContext {
 
     private final Configuration configuration;
     private final Object json;
+    // the context indexes are added to, contexts with other listeners read with the indexes of the one they came from
+    private final JsonContext indexed;
+    private volatile DocumentIndex documentIndex;
 
     JsonContext(Object json, Configuration configuration) {
+        this(json, configuration, null);
+    }
+
+    private JsonContext(Object json, Configuration configuration, JsonContext indexed) {
         notNull(json, "json can not be null");
         notNull(configuration, "configuration can not be null");
         this.configuration = configuration;
         this.json = json;
+        this.indexed = indexed != null ? indexed : this;
     }
 
 
@@ -85,7 +96,14 @@ public class JsonContext implements DocumentContext {
     @Override
     public <T> T read(JsonPath path) {
         notNull(path, "path can not be null");
-        return path.read(json, configuration);
+        DocumentIndex documentIndex = indexed.documentIndex;
+        return documentIndex == null || documentIndex.isEmpty() ? path.<T>read(json, configuration) : IndexedReader.instance().<T>read(path, json, configuration, documentIndex);
+    }
+
+    @Override
+    public Map<JsonPath, Object> read(JsonPathBatch batch) {
+        notNull(batch, "batch can not be null");
+        return batch.read(json, configuration);
     }
 
     @Override
@@ -110,7 +128,22 @@ public class JsonContext implements DocumentContext {
 
     @Override
     public ReadContext withListeners(EvaluationListener... listener) {
-        return new JsonContext(json, configuration.setEvaluationListeners(listener));
+        return new JsonContext(json, configuration.setEvaluationListeners(listener), indexed);
+    }
+
+    @Override
+    public synchronized DocumentContext index(String path, String property) {
+        if (documentIndex == null) {
+            documentIndex = new DocumentIndex(json, configuration);
+        }
+        documentIndex.add(path, property);
+        return this;
+    }
+
+    private void invalidateIndex() {
+        if (documentIndex != null) {
+            documentIndex.invalidate();
+        }
     }
 
     private <T> T convert(Object obj, Class<T> targetType, Configuration configuration) {
@@ -128,6 +161,7 @@ public class JsonContext implements DocumentContext {
 
     @Override
     public DocumentContext set(JsonPath path, Object newValue) {
+        invalidateIndex();
         List<String> modified = path.set(json, newValue, configuration.addOptions(Option.AS_PATH_LIST));
         if (logger.isDebugEnabled()) {
             for (String p : modified) {
@@ -145,6 +179,7 @@ public class JsonContext implements DocumentContext {
 
     @Override
     public DocumentContext map(JsonPath path, MapFunction mapFunction) {
+        invalidateIndex();
         Object obj = path.map(json, mapFunction, configuration);
         return obj==null ? null:this;
     }
@@ -156,6 +191,7 @@ public class JsonContext implements DocumentContext {
 
     @Override
     public DocumentContext delete(JsonPath path) {
+        invalidateIndex();
         List<String> modified = path.delete(json, configuration.addOptions(Option.AS_PATH_LIST));
         if (logger.isDebugEnabled()) {
             for (String p : modified) {
@@ -172,6 +208,7 @@ public class JsonContext implements DocumentContext {
 
     @Override
     public DocumentContext add(JsonPath path, Object value) {
+        invalidateIndex();
         List<String> modified = path.add(json, value, configuration.addOptions(Option.AS_PATH_LIST));
         if (logger.isDebugEnabled()) {
             for (String p : modified) {
@@ -193,6 +230,7 @@ public class JsonContext implements DocumentContext {
 
     @Override
     public DocumentContext renameKey(JsonPath path, String oldKeyName, String newKeyName) {
+        invalidateIndex();
         List<String> modified = path.renameKey(json, oldKeyName, newKeyName, configuration.addOptions(Option.AS_PATH_LIST));
         if (logger.isDebugEnabled()) {
             for (String p : modified) {
@@ -204,6 +242,7 @@ public class JsonContext implements DocumentContext {
 
     @Override
     public DocumentContext put(JsonPath path, String key, Object value) {
+        invalidateIndex();
         List<String> modified = path.put(json, key, value, configuration.addOptions(Option.AS_PATH_LIST));
         if (logger.isDebugEnabled()) {
             for (String p : modified) {
@@ -214,12 +253,18 @@ public class JsonContext implements DocumentContext {
     }
 
     private JsonPath pathFromCache(String path, Predicate[] filters) {
-        Cache cache = CacheProvider.getCache();
+        Cache cache = configuration.cache() != null ? configuration.cache() : CacheProvider.getCache();
         String cacheKey = filters == null || filters.length == 0
             ? path : Utils.concat(path, Arrays.toString(filters));
         JsonPath jsonPath = cache.get(cacheKey);
         if (jsonPath == null) {
-            jsonPath = compile(path, filters);
+            if (cache instanceof StatsCache && ((StatsCache) cache).isRecordingStats()) {
+                long start = System.nanoTime();
+                jsonPath = compile(path, filters);
+                ((StatsCache) cache).recordCompilation(System.nanoTime() - start);
+            } else {
+                jsonPath = compile(path, filters);
+            }
             cache.put(cacheKey, jsonPath);
         }
         return jsonPath;
@@ -0,0 +1,447 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal;
+
+import com.jayway.jsonpath.InvalidJsonException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * A pull tokenizer for RFC 8259 JSON text. Values that are not needed can be skipped without
+ * allocating anything, values that are needed are returned as raw JSON text so that they can be
+ * parsed by the configured {@link com.jayway.jsonpath.spi.json.JsonProvider}.
+ * <p>
+ * Not thread safe.
+ */
+public final class JsonTokenizer {
+
+    public enum Token {
+        BEGIN_OBJECT,
+        END_OBJECT,
+        BEGIN_ARRAY,
+        END_ARRAY,
+        NAME,
+        /**
+         * A string, number, boolean or null
+         */
+        VALUE,
+        END_DOCUMENT
+    }
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    private static final int DANGLING_NAME = 5;
+    private static final int NONEMPTY_OBJECT = 6;
+
+    private static final int EOF = -1;
+
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int pos;
+    private int limit;
+    private long bufferOffset;
+
+    private int[] scopes = new int[32];
+    private int depth;
+
+    private Token peeked;
+    private boolean peekedString;
+    private int valueStart;
+
+    private final StringBuilder text = new StringBuilder();
+    private boolean capturing;
+    private int captureStart;
+
+    public JsonTokenizer(Reader in) {
+        this.in = in;
+        this.scopes[depth++] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * @return the next token without consuming it
+     */
+    public Token peek() throws IOException {
+        if (peeked != null) {
+            return peeked;
+        }
+        int scope = scopes[depth - 1];
+        int c;
+        switch (scope) {
+            case EMPTY_ARRAY:
+                scopes[depth - 1] = NONEMPTY_ARRAY;
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return peeked = Token.END_ARRAY;
+                } else if (c == EOF) {
+                    throw syntaxError("Unexpected end of document", c);
+                }
+                pos--;
+                break;
+            case NONEMPTY_ARRAY:
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return peeked = Token.END_ARRAY;
+                } else if (c != ',') {
+                    throw syntaxError("Expected ',' or ']'", c);
+                }
+                break;
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                scopes[depth - 1] = DANGLING_NAME;
+                c = nextNonWhitespace();
+                if (c == '}') {
+                    return peeked = Token.END_OBJECT;
+                }
+                if (scope == NONEMPTY_OBJECT) {
+                    if (c != ',') {
+                        throw syntaxError("Expected ',' or '}'", c);
+                    }
+                    c = nextNonWhitespace();
+                }
+                if (c != '"') {
+                    throw syntaxError("Expected name", c);
+                }
+                return peeked = Token.NAME;
+            case DANGLING_NAME:
+                scopes[depth - 1] = NONEMPTY_OBJECT;
+                c = nextNonWhitespace();
+                if (c != ':') {
+                    throw syntaxError("Expected ':'", c);
+                }
+                break;
+            case EMPTY_DOCUMENT:
+                scopes[depth - 1] = NONEMPTY_DOCUMENT;
+                break;
+            default:
+                c = nextNonWhitespace();
+                if (c != EOF) {
+                    throw syntaxError("Expected end of document", c);
+                }
+                return peeked = Token.END_DOCUMENT;
+        }
+
+        c = nextNonWhitespace();
+        valueStart = pos - 1;
+        switch (c) {
+            case '{':
+                return peeked = Token.BEGIN_OBJECT;
+            case '[':
+                return peeked = Token.BEGIN_ARRAY;
+            case '"':
+                peekedString = true;
+                return peeked = Token.VALUE;
+            case EOF:
+                throw syntaxError("Unexpected end of document", c);
+            default:
+                pos--;
+                peekedString = false;
+                return peeked = Token.VALUE;
+        }
+    }
+
+    public void beginObject() throws IOException {
+        expect(Token.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() throws IOException {
+        expect(Token.END_OBJECT);
+        depth--;
+    }
+
+    public void beginArray() throws IOException {
+        expect(Token.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() throws IOException {
+        expect(Token.END_ARRAY);
+        depth--;
+    }
+
+    /**
+     * @return true if the current object or array has more elements
+     */
+    public boolean hasNext() throws IOException {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    /**
+     * @return the next property name, unescaped
+     */
+    public String nextName() throws IOException {
+        expect(Token.NAME);
+        return readString();
+    }
+
+    /**
+     * Skips the next value, including all nested values.
+     */
+    public void skipValue() throws IOException {
+        int count = 0;
+        do {
+            switch (peek()) {
+                case BEGIN_OBJECT:
+                    beginObject();
+                    count++;
+                    break;
+                case BEGIN_ARRAY:
+                    beginArray();
+                    count++;
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    count--;
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    count--;
+                    break;
+                case NAME:
+                    peeked = null;
+                    skipString();
+                    break;
+                case VALUE:
+                    peeked = null;
+                    if (peekedString) {
+                        skipString();
+                    } else {
+                        skipLiteral();
+                    }
+                    break;
+                default:
+                    throw syntaxError("Unexpected end of document", EOF);
+            }
+        } while (count != 0);
+    }
+
+    /**
+     * Consumes the next value, including all nested values.
+     *
+     * @return the JSON text of the value
+     */
+    public String nextValueText() throws IOException {
+        peek();
+        capturing = true;
+        captureStart = valueStart;
+        text.setLength(0);
+        try {
+            skipValue();
+            text.append(buffer, captureStart, pos - captureStart);
+            return text.toString();
+        } finally {
+            capturing = false;
+        }
+    }
+
+    private void expect(Token expected) throws IOException {
+        Token token = peek();
+        if (token != expected) {
+            throw new InvalidJsonException("Expected " + expected + " but was " + token + " at position " + position());
+        }
+        peeked = null;
+    }
+
+    private void push(int scope) {
+        if (depth == scopes.length) {
+            scopes = Arrays.copyOf(scopes, depth * 2);
+        }
+        scopes[depth++] = scope;
+    }
+
+    private String readString() throws IOException {
+        text.setLength(0);
+        while (true) {
+            int start = pos;
+            while (pos < limit) {
+                char c = buffer[pos++];
+                if (c == '"') {
+                    text.append(buffer, start, pos - start - 1);
+                    return text.toString();
+                } else if (c == '\\') {
+                    text.append(buffer, start, pos - start - 1);
+                    text.append(readEscape());
+                    start = pos;
+                } else if (c < 0x20) {
+                    throw syntaxError("Unescaped control character in string", c);
+                }
+            }
+            text.append(buffer, start, pos - start);
+            if (!fill()) {
+                throw syntaxError("Unterminated string", EOF);
+            }
+        }
+    }
+
+    private void skipString() throws IOException {
+        while (true) {
+            while (pos < limit) {
+                char c = buffer[pos++];
+                if (c == '"') {
+                    return;
+                } else if (c == '\\') {
+                    readEscape();
+                } else if (c < 0x20) {
+                    throw syntaxError("Unescaped control character in string", c);
+                }
+            }
+            if (!fill()) {
+                throw syntaxError("Unterminated string", EOF);
+            }
+        }
+    }
+
+    private char readEscape() throws IOException {
+        int c = read();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return (char) c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int hex = read();
+                    int digit = Character.digit(hex, 16);
+                    if (digit == -1) {
+                        throw syntaxError("Invalid unicode escape", hex);
+                    }
+                    value = (value << 4) + digit;
+                }
+                return (char) value;
+            default:
+                throw syntaxError("Invalid escape sequence", c);
+        }
+    }
+
+    private void skipLiteral() throws IOException {
+        int first = read();
+        int c;
+        if (first == 't' || first == 'f' || first == 'n') {
+            String literal = first == 't' ? "true" : first == 'f' ? "false" : "null";
+            for (int i = 1; i < literal.length(); i++) {
+                c = read();
+                if (c != literal.charAt(i)) {
+                    throw syntaxError("Invalid literal", c);
+                }
+            }
+            c = read();
+        } else if (first == '-' || (first >= '0' && first <= '9')) {
+            // -?(0|[1-9][0-9]*)(\.[0-9]+)?([eE][+-]?[0-9]+)? as of RFC 8259
+            c = first == '-' ? read() : first;
+            c = c == '0' ? read() : skipDigits(c);
+            if (c == '.') {
+                c = skipDigits(read());
+            }
+            if (c == 'e' || c == 'E') {
+                c = read();
+                if (c == '+' || c == '-') {
+                    c = read();
+                }
+                c = skipDigits(c);
+            }
+        } else {
+            throw syntaxError("Unexpected character", first);
+        }
+        if (c != EOF) {
+            pos--;
+            if (!isDelimiter(c)) {
+                throw syntaxError("Unexpected character", c);
+            }
+        }
+    }
+
+    /**
+     * Skips one or more digits starting with the given character.
+     *
+     * @return the character after the digits
+     */
+    private int skipDigits(int c) throws IOException {
+        if (c < '0' || c > '9') {
+            throw syntaxError("Invalid number", c);
+        }
+        do {
+            c = read();
+        } while (c >= '0' && c <= '9');
+        return c;
+    }
+
+    private static boolean isDelimiter(int c) {
+        return c == ',' || c == '}' || c == ']' || c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        while (true) {
+            int c = read();
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                return c;
+            }
+        }
+    }
+
+    /**
+     * Reads the next character. After a character has been read, {@code pos--} pushes it back.
+     */
+    private int read() throws IOException {
+        if (pos == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[pos++];
+    }
+
+    private boolean fill() throws IOException {
+        if (capturing) {
+            text.append(buffer, captureStart, limit - captureStart);
+            captureStart = 0;
+        }
+        bufferOffset += limit;
+        pos = 0;
+        limit = 0;
+        int read;
+        while ((read = in.read(buffer, 0, buffer.length)) == 0) {
+            // retry
+        }
+        if (read == -1) {
+            return false;
+        }
+        limit = read;
+        return true;
+    }
+
+    private long position() {
+        return bufferOffset + pos;
+    }
+
+    private InvalidJsonException syntaxError(String message, int c) {
+        String found = c == EOF ? "end of document" : "'" + (char) c + "'";
+        return new InvalidJsonException(message + ", found " + found + " at position " + position());
+    }
+}
@@ -16,6 +16,9 @@ package com.jayway.jsonpath.internal;
 
 import com.jayway.jsonpath.Configuration;
 
+import java.io.IOException;
+import java.io.Reader;
+
 /**
  *
  */
@@ -43,6 +46,66 @@ public interface Path {
      */
     EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration, boolean forUpdate);
 
+    /**
+     * Evaluates this path for its values only. Result paths are not recorded unless the configuration
+     * requires them ({@link com.jayway.jsonpath.Option#AS_PATH_LIST} or evaluation listeners), otherwise
+     * {@link EvaluationContext#getPath()} and {@link EvaluationContext#getPathList()} throw an
+     * {@link IllegalStateException} if there are results.
+     *
+     * @param document the json document to apply the path on
+     * @param rootDocument the root json document that started this evaluation
+     * @param configuration configuration to use
+     * @return EvaluationContext containing results of evaluation
+     */
+    EvaluationContext evaluateValues(Object document, Object rootDocument, Configuration configuration);
+
+    /**
+     * Evaluates this path for its values only, like {@link #evaluateValues(Object, Object, Configuration)}, and
+     * looks up filters over indexed arrays in the given index instead of applying them to every element.
+     *
+     * @param document the json document to apply the path on
+     * @param rootDocument the root json document that started this evaluation
+     * @param configuration configuration to use
+     * @param documentIndex indexes of the root document
+     * @return EvaluationContext containing results of evaluation
+     */
+    EvaluationContext evaluateValues(Object document, Object rootDocument, Configuration configuration, DocumentIndex documentIndex);
+
+    /**
+     * Evaluates this path, handing each result to the given handler instead of collecting it. The returned
+     * context only tells if there were results.
+     *
+     * @param document the json document to apply the path on
+     * @param rootDocument the root json document that started this evaluation
+     * @param configuration configuration to use
+     * @param resultHandler handler to receive the results
+     * @return EvaluationContext of the evaluation
+     */
+    EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration, ResultHandler resultHandler);
+
+    /**
+     * Evaluates this path against JSON text without parsing the whole document. Only the values the path
+     * needs to look at are parsed, everything else is skipped. Results are reported in document order.
+     *
+     * @param json reader to read the json document from
+     * @param configuration configuration to use
+     * @return EvaluationContext containing results of evaluation
+     * @throws IOException if the reader fails
+     * @throws UnsupportedOperationException if the path can not be evaluated on a stream
+     * @see #isStreamable(Configuration)
+     */
+    EvaluationContext evaluateStream(Reader json, Configuration configuration) throws IOException;
+
+    /**
+     * Checks if this path can be evaluated by {@link #evaluateStream(Reader, Configuration)}. Paths using
+     * functions, filters that read the root document or a deep scan followed by a filter or a non-leaf
+     * array index can not.
+     *
+     * @param configuration configuration to use
+     * @return true if this path can be evaluated on a stream
+     */
+    boolean isStreamable(Configuration configuration);
+
     /**
      *
      * @return true id this path is definite
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal;
+
+import com.jayway.jsonpath.internal.path.EvaluationPath;
+
+/**
+ * Receives results as they are found, instead of having them collected by the {@link EvaluationContext}.
+ */
+public interface ResultHandler {
+
+    /**
+     * @param path  path of the result, only converted to a string if needed
+     * @param value the result
+     * @return false to stop the evaluation
+     */
+    boolean resultFound(EvaluationPath path, Object value);
+}
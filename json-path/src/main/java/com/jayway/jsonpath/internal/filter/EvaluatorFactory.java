@@ -6,7 +6,6 @@ import com.jayway.jsonpath.Predicate;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.regex.Pattern;
 
 import static com.jayway.jsonpath.internal.filter.ValueNodes.PatternNode;
 import static com.jayway.jsonpath.internal.filter.ValueNodes.ValueListNode;
@@ -273,7 +272,7 @@ public class EvaluatorFactory {
         }
 
         private boolean matches(PatternNode patternNode, String inputToMatch) {
-            return patternNode.getCompiledPattern().matcher(inputToMatch).matches();
+            return patternNode.matches(inputToMatch);
         }
 
         private boolean matchesAny(PatternNode patternNode, ValueNode valueNode) {
@@ -282,11 +281,10 @@ public class EvaluatorFactory {
             }
 
             ValueListNode listNode = valueNode.asValueListNode();
-            Pattern pattern = patternNode.getCompiledPattern();
 
             for (Iterator<ValueNode> it = listNode.iterator(); it.hasNext(); ) {
                 String input = getInput(it.next());
-                if (pattern.matcher(input).matches()) {
+                if (patternNode.matches(input)) {
                     return true;
                 }
             }
@@ -362,10 +360,8 @@ public class EvaluatorFactory {
             }
 
             for (ValueNode leftValueNode : leftValueListNode) {
-                for (ValueNode rightValueNode : rightValueListNode) {
-                    if (leftValueNode.equals(rightValueNode)) {
-                        return true;
-                    }
+                if (rightValueListNode.contains(leftValueNode)) {
+                    return true;
                 }
             }
             return false;
@@ -399,10 +395,8 @@ public class EvaluatorFactory {
             }
 
             for (ValueNode leftValueNode : leftValueListNode) {
-                for (ValueNode rightValueNode : rightValueListNode) {
-                    if (leftValueNode.equals(rightValueNode)) {
-                        return false;
-                    }
+                if (rightValueListNode.contains(leftValueNode)) {
+                    return false;
                 }
             }
             return true;
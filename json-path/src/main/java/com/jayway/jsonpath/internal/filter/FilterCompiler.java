@@ -54,6 +54,61 @@ public class FilterCompiler  {
         return new CompiledFilter(compiler.compile());
     }
 
+    /**
+     * @return the expression a filter was compiled from or the predicate itself if it was not compiled from a
+     * filter expression
+     */
+    static Predicate expressionOf(Predicate predicate) {
+        return predicate instanceof CompiledFilter ? ((CompiledFilter) predicate).predicate : predicate;
+    }
+
+    /**
+     * Checks if a predicate might read the root document ($) when applied. Predicates that were not
+     * compiled from a filter expression can not be inspected and are assumed to do so.
+     *
+     * @param predicate predicate to check
+     * @return false if the predicate only reads the item it is applied to
+     */
+    public static boolean referencesRoot(Predicate predicate) {
+        if (predicate instanceof CompiledFilter) {
+            return referencesRoot(((CompiledFilter) predicate).predicate);
+        } else if (predicate instanceof LogicalExpressionNode) {
+            for (ExpressionNode expression : ((LogicalExpressionNode) predicate).chain) {
+                if (referencesRoot(expression)) {
+                    return true;
+                }
+            }
+            return false;
+        } else if (predicate instanceof RelationalExpressionNode) {
+            return ((RelationalExpressionNode) predicate).referencesRoot();
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a predicate might call path functions when applied. Custom functions and predicates are not
+     * required to be thread safe, so such a predicate is not applied from several threads at once. Predicates that
+     * were not compiled from a filter expression can not be inspected and are assumed to call functions.
+     *
+     * @param predicate predicate to check
+     * @return false if the predicate does not call functions
+     */
+    public static boolean callsFunctions(Predicate predicate) {
+        if (predicate instanceof CompiledFilter) {
+            return callsFunctions(((CompiledFilter) predicate).predicate);
+        } else if (predicate instanceof LogicalExpressionNode) {
+            for (ExpressionNode expression : ((LogicalExpressionNode) predicate).chain) {
+                if (callsFunctions(expression)) {
+                    return true;
+                }
+            }
+            return false;
+        } else if (predicate instanceof RelationalExpressionNode) {
+            return ((RelationalExpressionNode) predicate).callsFunctions();
+        }
+        return true;
+    }
+
     private FilterCompiler(String filterString) {
         filter = new CharacterIndex(filterString);
         filter.trim();
@@ -82,7 +137,7 @@ public class FilterCompiler  {
                          filter.subSequence(filter.position(), filter.length())));
              }
 
-             return result;
+             return FilterOptimizer.optimize(specialize(result));
         } catch (InvalidPathException e){
             throw e;
         } catch (Exception e) {
@@ -90,6 +145,21 @@ public class FilterCompiler  {
         }
     }
 
+    /**
+     * Replaces the relational expressions of the given expression that have a specialized implementation.
+     */
+    private static ExpressionNode specialize(ExpressionNode node) {
+        if (node instanceof LogicalExpressionNode) {
+            List<ExpressionNode> chain = ((LogicalExpressionNode) node).chain;
+            for (int i = 0; i < chain.size(); i++) {
+                chain.set(i, specialize(chain.get(i)));
+            }
+        } else if (node instanceof RelationalExpressionNode) {
+            return PropertyComparisonNode.specialize((RelationalExpressionNode) node);
+        }
+        return node;
+    }
+
     private ValueNode readValueNode() {
         switch (filter.skipBlanks().currentChar()) {
             case DOC_CONTEXT  : return readPath();
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.path.CompiledPath;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Orders the operands of {@code &&} and {@code ||} expressions by an estimate of their cost, so cheap operands
+ * that decide the result are applied before expensive ones. The order the expressions are printed in does not
+ * change.
+ * <p>
+ * From cheap to expensive, operands compare literals, read properties or array indexes of the item, match regular
+ * expressions, evaluate indefinite paths like {@code @..price} or {@code @.books[*]} and read the root document
+ * or apply nested predicates.
+ * Only operands that can not fail are moved: comparisons of literals and properties of the item with
+ * {@code ==}, {@code !=}, {@code ===}, {@code !==}, {@code <}, {@code <=}, {@code >}, {@code >=}, {@code in} or
+ * {@code nin} a list of literals, and existence checks. The first other operand keeps its position and so do all
+ * operands after it, because it can fail for items that the operands before it decide, and a failing filter
+ * does not match the item.
+ */
+final class FilterOptimizer {
+
+    private static final int LITERAL = 0;
+    private static final int PROPERTY = 1;
+    private static final int REGEX = 2;
+    private static final int INDEFINITE_PATH = 3;
+    private static final int ROOT = 4;
+
+    private FilterOptimizer() {
+    }
+
+    /**
+     * Sets the evaluation order of all logical expressions of the given expression.
+     */
+    static ExpressionNode optimize(ExpressionNode expression) {
+        cost(expression);
+        return expression;
+    }
+
+    /**
+     * @return the estimated cost of applying the expression, orders the operands of logical expressions on the way
+     */
+    private static int cost(ExpressionNode expression) {
+        if (expression instanceof LogicalExpressionNode) {
+            return cost((LogicalExpressionNode) expression);
+        } else if (expression instanceof RelationalExpressionNode) {
+            RelationalExpressionNode relational = (RelationalExpressionNode) expression;
+            int cost = Math.max(cost(relational.left()), cost(relational.right()));
+            if (relational.operator() == RelationalOperator.REGEX) {
+                cost = Math.max(cost, REGEX);
+            }
+            return cost;
+        }
+        return ROOT;
+    }
+
+    private static int cost(LogicalExpressionNode logical) {
+        List<ExpressionNode> chain = logical.chain;
+        final List<ExpressionNode> operands = new ArrayList<ExpressionNode>(chain.size());
+        final List<Integer> costs = new ArrayList<Integer>(chain.size());
+        int fixed = chain.size();
+        int cost = LITERAL;
+        for (int i = 0; i < chain.size(); i++) {
+            ExpressionNode operand = chain.get(i);
+            int operandCost = operand == null ? LITERAL : cost(operand);
+            if (fixed == chain.size() && operand != null && !cannotFail(operand)) {
+                fixed = i;
+            }
+            operands.add(operand);
+            costs.add(operandCost);
+            cost = Math.max(cost, operandCost);
+        }
+        if (logical.getOperator() != LogicalOperator.NOT && fixed > 1) {
+            List<Integer> order = new ArrayList<Integer>(fixed);
+            for (int i = 0; i < fixed; i++) {
+                order.add(i);
+            }
+            // a stable sort, operands of the same cost keep their order
+            Collections.sort(order, new Comparator<Integer>() {
+                @Override
+                public int compare(Integer o1, Integer o2) {
+                    return costs.get(o1).compareTo(costs.get(o2));
+                }
+            });
+            List<ExpressionNode> evaluationOrder = new ArrayList<ExpressionNode>(chain.size());
+            for (Integer i : order) {
+                evaluationOrder.add(operands.get(i));
+            }
+            evaluationOrder.addAll(operands.subList(fixed, operands.size()));
+            logical.setEvaluationOrder(evaluationOrder);
+        }
+        return cost;
+    }
+
+    /**
+     * @return true if applying the expression can not throw
+     */
+    private static boolean cannotFail(ExpressionNode expression) {
+        if (expression instanceof LogicalExpressionNode) {
+            for (ExpressionNode operand : ((LogicalExpressionNode) expression).chain) {
+                if (operand != null && !cannotFail(operand)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (!(expression instanceof RelationalExpressionNode)) {
+            return false;
+        }
+        RelationalExpressionNode relational = (RelationalExpressionNode) expression;
+        ValueNode left = relational.left();
+        ValueNode right = relational.right();
+        switch (relational.operator()) {
+            case EXISTS:
+                return left.isPathNode() && left.asPathNode().isExistsCheck() && right.isBooleanNode()
+                        && !callsFunctions(left.asPathNode().getPath());
+            case EQ:
+            case NE:
+            case TSEQ:
+            case TSNE:
+            case LT:
+            case LTE:
+            case GT:
+            case GTE:
+                return isScalarOrProperty(left) && isScalarOrProperty(right);
+            case IN:
+            case NIN:
+                return isScalarOrProperty(left) && right.isValueListNode();
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isScalarOrProperty(ValueNode value) {
+        if (value.isStringNode() || value.isNumberNode() || value.isBooleanNode() || value.isNullNode()) {
+            return true;
+        }
+        if (!value.isPathNode() || value.asPathNode().isExistsCheck()) {
+            return false;
+        }
+        Path path = value.asPathNode().getPath();
+        return !path.isRootPath() && path.isDefinite() && !callsFunctions(path);
+    }
+
+    private static boolean callsFunctions(Path path) {
+        return !(path instanceof CompiledPath) || ((CompiledPath) path).callsFunctions();
+    }
+
+    private static int cost(ValueNode value) {
+        if (value.isPredicateNode()) {
+            return ROOT;
+        } else if (!value.isPathNode()) {
+            return LITERAL;
+        }
+        Path path = value.asPathNode().getPath();
+        if (path.isRootPath()) {
+            return ROOT;
+        }
+        return path.isDefinite() ? PROPERTY : INDEFINITE_PATH;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.filter;
+
+import java.util.regex.Pattern;
+
+/**
+ * Matches regular expressions that only consist of a literal, optionally preceded and/or followed by {@code .*},
+ * without running the regex engine. Covers patterns like {@code ^abc$}, {@code abc.*}, {@code .*abc} and
+ * {@code .*abc.*}. With the {@code i} flag ASCII letters are matched case insensitively, like {@link Pattern} does.
+ * <p>
+ * {@code .} does not match line terminators unless the pattern is compiled with {@link Pattern#DOTALL}, inputs
+ * containing one must therefore be matched with the compiled pattern.
+ */
+final class LiteralPattern {
+
+    private static final int SUPPORTED_FLAGS = Pattern.UNIX_LINES | Pattern.CASE_INSENSITIVE | Pattern.DOTALL;
+
+    private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    private final String literal;
+    private final boolean anyPrefix;
+    private final boolean anySuffix;
+    private final boolean ignoreCase;
+
+    private LiteralPattern(String literal, boolean anyPrefix, boolean anySuffix, boolean ignoreCase) {
+        this.literal = literal;
+        this.anyPrefix = anyPrefix;
+        this.anySuffix = anySuffix;
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * @return a matcher for the given pattern or null if the pattern is not a plain literal
+     */
+    static LiteralPattern analyze(String regex, int flags) {
+        if ((flags & ~SUPPORTED_FLAGS) != 0) {
+            return null;
+        }
+        int begin = 0;
+        int end = regex.length();
+        if (begin < end && regex.charAt(begin) == '^') {
+            begin++;
+        }
+        if (end - begin > 0 && regex.charAt(end - 1) == '$' && !isEscaped(regex, end - 1)) {
+            end--;
+        }
+        boolean anyPrefix = regex.startsWith(".*", begin);
+        if (anyPrefix) {
+            begin += 2;
+        }
+        boolean anySuffix = end - begin >= 2 && regex.startsWith(".*", end - 2) && !isEscaped(regex, end - 2);
+        if (anySuffix) {
+            end -= 2;
+        }
+        boolean ignoreCase = (flags & Pattern.CASE_INSENSITIVE) != 0;
+
+        StringBuilder literal = new StringBuilder(end - begin);
+        for (int i = begin; i < end; i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                if (++i == end) {
+                    return null;
+                }
+                c = regex.charAt(i);
+                if (c < 128 && Character.isLetterOrDigit(c)) {
+                    // character classes, back references, \Q..\E and the like
+                    return null;
+                }
+            } else if (META_CHARACTERS.indexOf(c) != -1) {
+                return null;
+            }
+            if (ignoreCase && c >= 128) {
+                return null;
+            }
+            literal.append(c);
+        }
+        return new LiteralPattern(literal.toString(), anyPrefix, anySuffix, ignoreCase);
+    }
+
+    private static boolean isEscaped(String regex, int index) {
+        int backslashes = 0;
+        for (int i = index - 1; i >= 0 && regex.charAt(i) == '\\'; i--) {
+            backslashes++;
+        }
+        return backslashes % 2 == 1;
+    }
+
+    /**
+     * @return whether this literal can decide if the whole input matches
+     */
+    boolean accepts(String input) {
+        if (!anyPrefix && !anySuffix) {
+            return true;
+        }
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Matches the whole input, the caller must make sure the input is {@link #accepts(String) accepted}.
+     */
+    boolean matches(String input) {
+        int length = literal.length();
+        if (anyPrefix && anySuffix) {
+            for (int offset = 0, last = input.length() - length; offset <= last; offset++) {
+                if (regionMatches(input, offset)) {
+                    return true;
+                }
+            }
+            return false;
+        } else if (anyPrefix) {
+            return input.length() >= length && regionMatches(input, input.length() - length);
+        } else if (anySuffix) {
+            return input.length() >= length && regionMatches(input, 0);
+        } else {
+            return input.length() == length && regionMatches(input, 0);
+        }
+    }
+
+    private boolean regionMatches(String input, int offset) {
+        if (!ignoreCase) {
+            return input.startsWith(literal, offset);
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            char c = input.charAt(offset + i);
+            char l = literal.charAt(i);
+            if (c != l && (c >= 128 || toLowerCase(c) != toLowerCase(l))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char toLowerCase(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+}
@@ -8,6 +8,7 @@ import java.util.List;
 
 public class LogicalExpressionNode extends ExpressionNode {
     protected List<ExpressionNode> chain = new ArrayList<ExpressionNode>();
+    private List<ExpressionNode> evaluationOrder;
     private final LogicalOperator operator;
 
     public static ExpressionNode createLogicalNot(ExpressionNode op) {
@@ -53,6 +54,17 @@ public class LogicalExpressionNode extends ExpressionNode {
         return operator;
     }
 
+    /**
+     * @return the operands in the order they are applied in, see {@link FilterOptimizer}
+     */
+    List<ExpressionNode> evaluationOrder() {
+        return evaluationOrder != null ? evaluationOrder : chain;
+    }
+
+    void setEvaluationOrder(List<ExpressionNode> evaluationOrder) {
+        this.evaluationOrder = evaluationOrder;
+    }
+
     public LogicalExpressionNode append(ExpressionNode expressionNode) {
         chain.add(0, expressionNode);
         return this;
@@ -65,16 +77,17 @@ public class LogicalExpressionNode extends ExpressionNode {
 
     @Override
     public boolean apply(PredicateContext ctx) {
+        List<ExpressionNode> chain = evaluationOrder();
         if(operator == LogicalOperator.OR){
-            for (ExpressionNode expression : chain) {
-                if(expression.apply(ctx)){
+            for (int i = 0; i < chain.size(); i++) {
+                if(chain.get(i).apply(ctx)){
                     return true;
                 }
             }
             return false;
         } else if (operator == LogicalOperator.AND) {
-            for (ExpressionNode expression : chain) {
-                if(!expression.apply(ctx)){
+            for (int i = 0; i < chain.size(); i++) {
+                if(!chain.get(i).apply(ctx)){
                     return false;
                 }
             }
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.path.CompiledPath;
+import com.jayway.jsonpath.internal.path.PathToken;
+import com.jayway.jsonpath.internal.path.PropertyPathToken;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A relational expression comparing a property of the current item, like {@code @.price} or {@code @.a.b}, with
+ * a number, string or boolean literal.
+ * <p>
+ * The property is read from the item with the {@link JsonProvider} and numbers, strings and booleans are compared
+ * with the literal directly, instead of being converted to a {@link ValueNode} first. Numbers are compared as
+ * {@code long} or {@code double} where that gives the same result as the {@link BigDecimal} comparison of
+ * {@link ValueNodes.NumberNode}. All other values, and configurations with evaluation listeners or
+ * {@link Option#CREATE_MISSING_PROPERTIES_ON_DEFINITE_PATH}, are evaluated as by {@link RelationalExpressionNode}.
+ */
+final class PropertyComparisonNode extends RelationalExpressionNode {
+
+    private final String[] properties;
+    private final RelationalOperator operator;
+
+    private final BigDecimal number;
+    private final double doubleNumber;
+    private final boolean longNumber;
+    private final String string;
+    private final Boolean bool;
+
+    private PropertyComparisonNode(RelationalExpressionNode node, String[] properties) {
+        super(node.left(), node.operator(), node.right());
+        this.properties = properties;
+        this.operator = node.operator();
+        ValueNode right = node.right();
+        if (right.isNumberNode()) {
+            this.number = right.asNumberNode().getNumber();
+            this.doubleNumber = number.doubleValue();
+            this.longNumber = isLong(number);
+        } else {
+            this.number = null;
+            this.doubleNumber = 0;
+            this.longNumber = false;
+        }
+        this.string = right.isStringNode() ? right.asStringNode().getString() : null;
+        this.bool = right.isBooleanNode() ? right.asBooleanNode().getBoolean() : null;
+    }
+
+    /**
+     * @return a specialized node for the given expression or the expression itself if it can not be specialized
+     */
+    static RelationalExpressionNode specialize(RelationalExpressionNode node) {
+        switch (node.operator()) {
+            case EQ:
+            case NE:
+            case TSEQ:
+            case TSNE:
+            case LT:
+            case LTE:
+            case GT:
+            case GTE:
+                break;
+            default:
+                return node;
+        }
+        ValueNode right = node.right();
+        if (!(right.isNumberNode() && right.asNumberNode() != ValueNodes.NumberNode.NAN)
+                && !right.isStringNode() && !right.isBooleanNode()) {
+            return node;
+        }
+        if (!node.left().isPathNode() || node.left().asPathNode().isExistsCheck()) {
+            return node;
+        }
+        String[] properties = properties(node.left().asPathNode().getPath());
+        return properties == null ? node : new PropertyComparisonNode(node, properties);
+    }
+
+    /**
+     * @return the properties of a path like @.a.b, null for all other paths
+     */
+    static String[] properties(Path path) {
+        if (!(path instanceof CompiledPath) || path.isRootPath()) {
+            return null;
+        }
+        List<String> properties = new ArrayList<String>();
+        PathToken token = ((CompiledPath) path).getRoot().getNext();
+        while (token != null) {
+            if (!(token instanceof PropertyPathToken) || !((PropertyPathToken) token).singlePropertyCase()) {
+                return null;
+            }
+            properties.add(((PropertyPathToken) token).getProperties().get(0));
+            token = token.getNext();
+        }
+        return properties.toArray(new String[0]);
+    }
+
+    private static boolean isLong(BigDecimal number) {
+        try {
+            number.longValueExact();
+            return true;
+        } catch (ArithmeticException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean apply(PredicateContext ctx) {
+        Configuration configuration = ctx.configuration();
+        if (!configuration.getEvaluationListeners().isEmpty()
+                || configuration.containsOption(Option.CREATE_MISSING_PROPERTIES_ON_DEFINITE_PATH)) {
+            return super.apply(ctx);
+        }
+        JsonProvider jsonProvider = configuration.jsonProvider();
+        Object value = ctx.item();
+        boolean leafMissing = false;
+        for (int i = 0; i < properties.length; i++) {
+            if (!jsonProvider.isMap(value)) {
+                value = JsonProvider.UNDEFINED;
+                break;
+            }
+            value = jsonProvider.getMapValue(value, properties[i]);
+            if (value == JsonProvider.UNDEFINED) {
+                leafMissing = i == properties.length - 1;
+                break;
+            }
+        }
+        if (value == JsonProvider.UNDEFINED) {
+            // see PathToken.handleObjectProperty, without a result a definite path reads as null if exceptions
+            // are suppressed and as undefined otherwise
+            if (leafMissing && configuration.containsOption(Option.DEFAULT_PATH_LEAF_TO_NULL)
+                    || configuration.containsOption(Option.SUPPRESS_EXCEPTIONS)) {
+                return evaluator().evaluate(ValueNodes.NULL_NODE, right(), ctx);
+            }
+            return evaluator().evaluate(ValueNodes.UNDEFINED, right(), ctx);
+        }
+        value = jsonProvider.unwrap(value);
+
+        if (number != null && value instanceof Number) {
+            int comparison = compare((Number) value);
+            if (comparison != UNKNOWN) {
+                return matches(comparison);
+            }
+        } else if (string != null && value instanceof String) {
+            return matches(((String) value).compareTo(string));
+        } else if (bool != null && value instanceof Boolean) {
+            return matchesEquality(bool.equals(value));
+        }
+        return evaluator().evaluate(ValueNodes.PathNode.toValueNode(value, ctx), right(), ctx);
+    }
+
+    private static final int UNKNOWN = Integer.MIN_VALUE;
+
+    /**
+     * @return the sign of the comparison of the value with the number literal or {@link #UNKNOWN} if the value
+     * has to be converted to a {@link ValueNodes.NumberNode}
+     */
+    private int compare(Number value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            long l = value.longValue();
+            if (longNumber) {
+                return Long.compare(l, number.longValue());
+            }
+            return BigDecimal.valueOf(l).compareTo(number);
+        } else if (value instanceof Double) {
+            double d = value.doubleValue();
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                return UNKNOWN;
+            }
+            // rounding to double is monotonic, so a difference between the doubles is a difference
+            // between the decimals
+            if (d < doubleNumber) {
+                return -1;
+            } else if (d > doubleNumber) {
+                return 1;
+            } else if (longNumber && Math.abs(d) < 0x1p53) {
+                return 0;
+            }
+            return new BigDecimal(value.toString()).compareTo(number);
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).compareTo(number);
+        } else if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value).compareTo(number);
+        }
+        return UNKNOWN;
+    }
+
+    private boolean matches(int comparison) {
+        switch (operator) {
+            case LT:
+                return comparison < 0;
+            case LTE:
+                return comparison <= 0;
+            case GT:
+                return comparison > 0;
+            case GTE:
+                return comparison >= 0;
+            default:
+                return matchesEquality(comparison == 0);
+        }
+    }
+
+    private boolean matchesEquality(boolean equal) {
+        switch (operator) {
+            case EQ:
+            case TSEQ:
+                return equal;
+            case NE:
+            case TSNE:
+                return !equal;
+            default:
+                // booleans are not ordered
+                return false;
+        }
+    }
+}
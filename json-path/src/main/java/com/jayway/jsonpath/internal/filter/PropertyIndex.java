@@ -0,0 +1,337 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.Predicate;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static com.jayway.jsonpath.internal.filter.ValueNodes.ValueListNode;
+
+/**
+ * Index of the items of an array by the value of one of their properties, used to find the items a filter like
+ * {@code [?(@.sku == 'X')]} can match without applying it to every item.
+ * <p>
+ * An index lookup only narrows down the items, the filter still has to be applied to the candidates it returns.
+ * Candidates are therefore chosen generously: numbers and strings holding a number are looked up by their
+ * numeric value, so values {@code ==} compares as equal across types end up in the same bucket, and items that
+ * are not objects, lack the property or have a value that is not a string, number, boolean or null are always
+ * candidates.
+ */
+public final class PropertyIndex {
+
+    private final String property;
+    private final int size;
+    private final Map<String, Positions> strings = new HashMap<String, Positions>();
+    private final NavigableMap<String, Positions> sortedStrings = new TreeMap<String, Positions>();
+    private final NavigableMap<BigDecimal, Positions> numbers = new TreeMap<BigDecimal, Positions>();
+    private final Positions trueValues = new Positions();
+    private final Positions falseValues = new Positions();
+    private final Positions nullValues = new Positions();
+    private final Positions others = new Positions();
+
+    private PropertyIndex(String property, Object array, JsonProvider jsonProvider) {
+        this.property = property;
+        int position = 0;
+        for (Object item : jsonProvider.toIterable(array)) {
+            Object value = jsonProvider.isMap(item) ? jsonProvider.getMapValue(item, property) : JsonProvider.UNDEFINED;
+            if (value == JsonProvider.UNDEFINED) {
+                others.add(position);
+            } else {
+                add(jsonProvider.unwrap(value), position);
+            }
+            position++;
+        }
+        this.size = position;
+    }
+
+    /**
+     * Indexes the items of the given array by the value of the given property
+     *
+     * @param array        array to index
+     * @param property     property of the items to index
+     * @param jsonProvider provider to read the array with
+     * @return the index
+     */
+    public static PropertyIndex build(Object array, String property, JsonProvider jsonProvider) {
+        return new PropertyIndex(property, array, jsonProvider);
+    }
+
+    /**
+     * @return the property the items are indexed by
+     */
+    public String property() {
+        return property;
+    }
+
+    /**
+     * @return the number of items of the indexed array
+     */
+    public int size() {
+        return size;
+    }
+
+    private void add(Object value, int position) {
+        if (value == null) {
+            nullValues.add(position);
+        } else if (value instanceof String) {
+            String string = (String) value;
+            Positions positions = strings.get(string);
+            if (positions == null) {
+                positions = new Positions();
+                strings.put(string, positions);
+                sortedStrings.put(string, positions);
+            }
+            positions.add(position);
+            BigDecimal number = parseNumber(string);
+            if (number != null) {
+                numberPositions(number).add(position);
+            }
+        } else if (value instanceof Number) {
+            BigDecimal number = parseNumber(value.toString());
+            (number != null ? numberPositions(number) : others).add(position);
+        } else if (value instanceof Boolean) {
+            ((Boolean) value ? trueValues : falseValues).add(position);
+        } else {
+            others.add(position);
+        }
+    }
+
+    private Positions numberPositions(BigDecimal number) {
+        Positions positions = numbers.get(number);
+        if (positions == null) {
+            positions = new Positions();
+            numbers.put(number, positions);
+        }
+        return positions;
+    }
+
+    private static BigDecimal parseNumber(String string) {
+        try {
+            return new BigDecimal(string);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Looks up the items of the indexed array that might match the given predicate.
+     *
+     * @param predicate predicate to look up
+     * @param indexes   the indexes of the array by property
+     * @return the positions of the candidates in ascending order, null if the predicate can not be looked up and
+     * has to be applied to all items
+     */
+    public static BitSet candidates(Predicate predicate, Map<String, PropertyIndex> indexes) {
+        Predicate expression = FilterCompiler.expressionOf(predicate);
+        if (expression instanceof LogicalExpressionNode) {
+            LogicalExpressionNode logical = (LogicalExpressionNode) expression;
+            if (logical.getOperator() == LogicalOperator.AND) {
+                BitSet result = null;
+                for (ExpressionNode operand : logical.chain) {
+                    BitSet candidates = candidates(operand, indexes);
+                    if (result == null) {
+                        result = candidates;
+                    } else if (candidates != null) {
+                        result.and(candidates);
+                    }
+                }
+                return result;
+            } else if (logical.getOperator() == LogicalOperator.OR) {
+                BitSet result = new BitSet();
+                for (ExpressionNode operand : logical.chain) {
+                    BitSet candidates = candidates(operand, indexes);
+                    if (candidates == null) {
+                        return null;
+                    }
+                    result.or(candidates);
+                }
+                return result;
+            }
+        } else if (expression instanceof RelationalExpressionNode) {
+            return candidates((RelationalExpressionNode) expression, indexes);
+        }
+        return null;
+    }
+
+    private static BitSet candidates(RelationalExpressionNode expression, Map<String, PropertyIndex> indexes) {
+        RelationalOperator operator = expression.operator();
+        ValueNode path = expression.left();
+        ValueNode literal = expression.right();
+        if (!isProperty(path)) {
+            if (!isProperty(literal) || operator == RelationalOperator.IN) {
+                return null;
+            }
+            path = expression.right();
+            literal = expression.left();
+            operator = reverse(operator);
+        }
+        String[] properties = PropertyComparisonNode.properties(path.asPathNode().getPath());
+        PropertyIndex index = properties.length == 1 ? indexes.get(properties[0]) : null;
+        if (index == null || operator == null) {
+            return null;
+        }
+        switch (operator) {
+            case EQ:
+            case TSEQ:
+                return index.equalTo(literal);
+            case IN:
+                return index.in(literal);
+            case LT:
+            case LTE:
+            case GT:
+            case GTE:
+                return index.compare(operator, literal);
+            default:
+                return null;
+        }
+    }
+
+    private static boolean isProperty(ValueNode node) {
+        return node.isPathNode() && !node.asPathNode().isExistsCheck()
+                && PropertyComparisonNode.properties(node.asPathNode().getPath()) != null;
+    }
+
+    private static RelationalOperator reverse(RelationalOperator operator) {
+        switch (operator) {
+            case LT:
+                return RelationalOperator.GT;
+            case LTE:
+                return RelationalOperator.GTE;
+            case GT:
+                return RelationalOperator.LT;
+            case GTE:
+                return RelationalOperator.LTE;
+            case EQ:
+            case TSEQ:
+                return operator;
+            default:
+                return null;
+        }
+    }
+
+    private BitSet equalTo(ValueNode literal) {
+        BitSet result = new BitSet(size);
+        return addEqualTo(literal, result) ? addOthers(result) : null;
+    }
+
+    private boolean addEqualTo(ValueNode literal, BitSet result) {
+        if (literal.isStringNode()) {
+            String string = literal.asStringNode().getString();
+            addAll(strings.get(string), result);
+            BigDecimal number = parseNumber(string);
+            if (number != null) {
+                addAll(numbers.get(number), result);
+            }
+        } else if (literal.isNumberNode()) {
+            BigDecimal number = literal.asNumberNode().getNumber();
+            if (number == null) {
+                return false;
+            }
+            addAll(numbers.get(number), result);
+        } else if (literal.isBooleanNode()) {
+            addAll(literal.asBooleanNode().getBoolean() ? trueValues : falseValues, result);
+        } else if (literal.isNullNode()) {
+            addAll(nullValues, result);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private BitSet in(ValueNode literal) {
+        ValueListNode list = null;
+        if (literal.isValueListNode()) {
+            list = literal.asValueListNode();
+        } else if (literal.isJsonNode()) {
+            list = literal.asJsonNode().literalArray();
+        }
+        if (list == null) {
+            return null;
+        }
+        BitSet result = new BitSet(size);
+        for (Iterator<ValueNode> it = list.iterator(); it.hasNext(); ) {
+            if (!addEqualTo(it.next(), result)) {
+                return null;
+            }
+        }
+        return addOthers(result);
+    }
+
+    private BitSet compare(RelationalOperator operator, ValueNode literal) {
+        NavigableMap<?, Positions> range;
+        if (literal.isNumberNode() && literal.asNumberNode().getNumber() != null) {
+            range = range(numbers, literal.asNumberNode().getNumber(), operator);
+        } else if (literal.isStringNode()) {
+            range = range(sortedStrings, literal.asStringNode().getString(), operator);
+        } else {
+            return null;
+        }
+        BitSet result = new BitSet(size);
+        for (Positions positions : range.values()) {
+            addAll(positions, result);
+        }
+        return addOthers(result);
+    }
+
+    private static <K> NavigableMap<K, Positions> range(NavigableMap<K, Positions> values, K bound, RelationalOperator operator) {
+        switch (operator) {
+            case LT:
+                return values.headMap(bound, false);
+            case LTE:
+                return values.headMap(bound, true);
+            case GT:
+                return values.tailMap(bound, false);
+            default:
+                return values.tailMap(bound, true);
+        }
+    }
+
+    private BitSet addOthers(BitSet result) {
+        addAll(others, result);
+        return result;
+    }
+
+    private static void addAll(Positions positions, BitSet result) {
+        if (positions != null) {
+            for (int i = 0; i < positions.size; i++) {
+                result.set(positions.values[i]);
+            }
+        }
+    }
+
+    private static final class Positions {
+        private int[] values = new int[1];
+        private int size;
+
+        void add(int position) {
+            if (size == values.length) {
+                int[] grown = new int[size * 2];
+                System.arraycopy(values, 0, grown, 0, size);
+                values = grown;
+            }
+            values[size++] = position;
+        }
+    }
+}
@@ -10,11 +10,13 @@ public class RelationalExpressionNode extends ExpressionNode {
     private final ValueNode left;
     private final RelationalOperator relationalOperator;
     private final ValueNode right;
+    private final Evaluator evaluator;
 
     public RelationalExpressionNode(ValueNode left, RelationalOperator relationalOperator, ValueNode right) {
         this.left = left;
         this.relationalOperator = relationalOperator;
         this.right = right;
+        this.evaluator = EvaluatorFactory.createEvaluator(relationalOperator);
 
         logger.trace("ExpressionNode {}", toString());
     }
@@ -28,6 +30,30 @@ public class RelationalExpressionNode extends ExpressionNode {
         }
     }
 
+    ValueNode left() {
+        return left;
+    }
+
+    RelationalOperator operator() {
+        return relationalOperator;
+    }
+
+    ValueNode right() {
+        return right;
+    }
+
+    Evaluator evaluator() {
+        return evaluator;
+    }
+
+    boolean referencesRoot() {
+        return left.referencesRoot() || right.referencesRoot();
+    }
+
+    boolean callsFunctions() {
+        return left.callsFunctions() || right.callsFunctions();
+    }
+
     @Override
     public boolean apply(PredicateContext ctx) {
         ValueNode l = left;
@@ -39,7 +65,6 @@ public class RelationalExpressionNode extends ExpressionNode {
         if(right.isPathNode()){
             r = right.asPathNode().evaluate(ctx);
         }
-        Evaluator evaluator = EvaluatorFactory.createEvaluator(relationalOperator);
         if(evaluator != null){
             return evaluator.evaluate(l, r, ctx);
         }
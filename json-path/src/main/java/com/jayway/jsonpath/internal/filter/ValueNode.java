@@ -16,6 +16,20 @@ public abstract class ValueNode {
 
     public abstract Class<?> type(Predicate.PredicateContext ctx);
 
+    /**
+     * @return true if evaluating this node might read the root document ($)
+     */
+    boolean referencesRoot() {
+        return false;
+    }
+
+    /**
+     * @return true if evaluating this node might call path functions
+     */
+    boolean callsFunctions() {
+        return false;
+    }
+
     public boolean isPatternNode() {
         return false;
     }
@@ -12,6 +12,7 @@ import com.jayway.jsonpath.PathNotFoundException;
 import com.jayway.jsonpath.Predicate;
 import com.jayway.jsonpath.internal.Path;
 import com.jayway.jsonpath.internal.Utils;
+import com.jayway.jsonpath.internal.path.CompiledPath;
 import com.jayway.jsonpath.internal.path.PathCompiler;
 import com.jayway.jsonpath.internal.path.PredicateContextImpl;
 import com.jayway.jsonpath.spi.json.JsonProvider;
@@ -44,6 +45,7 @@ public interface ValueNodes {
         private final String pattern;
         private final Pattern compiledPattern;
         private final String flags;
+        private final LiteralPattern literalPattern;
 
         PatternNode(CharSequence charSequence) {
             String tmp = charSequence.toString();
@@ -53,12 +55,14 @@ public interface ValueNodes {
             int flagsIndex = end + 1;
             this.flags = tmp.length() > flagsIndex ? tmp.substring(flagsIndex) : "";
             this.compiledPattern = Pattern.compile(pattern, PatternFlag.parseFlags(flags.toCharArray()));
+            this.literalPattern = LiteralPattern.analyze(pattern, compiledPattern.flags());
         }
 
         PatternNode(Pattern pattern) {
             this.pattern = pattern.pattern();
             this.compiledPattern = pattern;
             this.flags = PatternFlag.parseFlags(pattern.flags());
+            this.literalPattern = LiteralPattern.analyze(this.pattern, pattern.flags());
         }
 
 
@@ -66,6 +70,16 @@ public interface ValueNodes {
             return compiledPattern;
         }
 
+        /**
+         * @return whether the whole input matches, patterns that are plain literals are matched without a {@link java.util.regex.Matcher}
+         */
+        boolean matches(String input) {
+            if (literalPattern != null && literalPattern.accepts(input)) {
+                return literalPattern.matches(input);
+            }
+            return compiledPattern.matcher(input).matches();
+        }
+
         @Override
         public Class<?> type(Predicate.PredicateContext ctx) {
             return Void.TYPE;
@@ -102,17 +116,82 @@ public interface ValueNodes {
     }
 
     class JsonNode extends ValueNode {
-        private final Object json;
+        private Object json;
         private final boolean parsed;
 
+        /**
+         * The parsed and unmodifiable value of a json literal, null if the json could not be parsed
+         */
+        private final Object literal;
+        private volatile ValueListNode literalList;
+
+        /**
+         * An array or object of a document, read with the json provider of the configuration. It is only mapped
+         * to a {@link List} or {@link Map} when it is compared with another json node.
+         */
+        private final Object container;
+        private final Configuration configuration;
+        private final boolean array;
+        private ValueListNode containerList;
+
         JsonNode(CharSequence charSequence) {
             json = charSequence.toString();
             parsed = false;
+            literal = parseLiteral(json.toString());
+            container = null;
+            configuration = null;
+            array = false;
         }
 
         JsonNode(Object parsedJson) {
             json = parsedJson;
             parsed = true;
+            literal = null;
+            container = null;
+            configuration = null;
+            array = false;
+        }
+
+        JsonNode(Object container, Configuration configuration) {
+            parsed = true;
+            literal = null;
+            this.container = container;
+            this.configuration = configuration;
+            this.array = configuration.jsonProvider().isArray(container);
+        }
+
+        private Object json() {
+            if (json == null && container != null) {
+                Class<?> type = array ? List.class : Map.class;
+                json = configuration.mappingProvider().map(container, type, configuration);
+            }
+            return json;
+        }
+
+        private static Object parseLiteral(String json) {
+            try {
+                return freeze(new JSONParser(JSONParser.MODE_PERMISSIVE).parse(json));
+            } catch (ParseException e) {
+                // reported when the node is evaluated
+                return null;
+            }
+        }
+
+        private static Object freeze(Object value) {
+            if (value instanceof List) {
+                List<Object> list = new ArrayList<Object>(((List<?>) value).size());
+                for (Object element : (List<?>) value) {
+                    list.add(freeze(element));
+                }
+                return Collections.unmodifiableList(list);
+            } else if (value instanceof Map) {
+                Map<String, Object> map = new LinkedHashMap<String, Object>();
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    map.put(String.valueOf(entry.getKey()), freeze(entry.getValue()));
+                }
+                return Collections.unmodifiableMap(map);
+            }
+            return value;
         }
 
         @Override
@@ -136,12 +215,45 @@ public interface ValueNodes {
         public ValueNode asValueListNode(Predicate.PredicateContext ctx){
             if(!isArray(ctx)){
                 return UNDEFINED;
+            } else if (container != null) {
+                ValueListNode list = containerList;
+                if (list == null) {
+                    list = new ValueListNode(configuration.jsonProvider().toIterable(container), configuration.jsonProvider());
+                    containerList = list;
+                } else {
+                    // searched again, like the value of a root path that is shared by all items
+                    list.index();
+                }
+                return list;
+            } else if (literal != null) {
+                return literalArray();
             } else {
                 return new ValueListNode(Collections.unmodifiableList((List) parse(ctx)));
             }
         }
 
+        /**
+         * @return the elements of an array literal, null if this node is not an array literal
+         */
+        ValueListNode literalArray() {
+            if (!(literal instanceof List)) {
+                return null;
+            }
+            ValueListNode list = literalList;
+            if (list == null) {
+                list = new ValueListNode((List<?>) literal);
+                list.index();
+                literalList = list;
+            }
+            return list;
+        }
+
         public Object parse(Predicate.PredicateContext ctx){
+            if (container != null) {
+                return json();
+            } else if (literal != null) {
+                return literal;
+            }
             try {
               return parsed ? json : new JSONParser(JSONParser.MODE_PERMISSIVE).parse(json.toString());
             } catch (ParseException e) {
@@ -154,35 +266,47 @@ public interface ValueNodes {
         }
 
         public Object getJson() {
-            return json;
+            return json();
         }
 
         public boolean isArray(Predicate.PredicateContext ctx) {
+            if (container != null) {
+                return array;
+            }
             return parse(ctx) instanceof List;
         }
 
         public boolean isMap(Predicate.PredicateContext ctx) {
+            if (container != null) {
+                return !array;
+            }
             return parse(ctx) instanceof Map;
         }
 
         public int length(Predicate.PredicateContext ctx) {
+            if (container != null) {
+                return array ? configuration.jsonProvider().length(container) : -1;
+            }
             return isArray(ctx) ? ((List<?>) parse(ctx)).size() : -1;
         }
 
         public boolean isEmpty(Predicate.PredicateContext ctx) {
-            if (isArray(ctx) || isMap(ctx)) return ((Collection<?>) parse(ctx)).size() == 0;
+            if (container != null) return configuration.jsonProvider().length(container) == 0;
+            else if (isArray(ctx)) return ((List<?>) parse(ctx)).isEmpty();
+            else if (isMap(ctx)) return ((Map<?, ?>) parse(ctx)).isEmpty();
             else if((parse(ctx) instanceof String)) return ((String)parse(ctx)).length() == 0;
             return true;
         }
 
         @Override
         public String toString() {
-            return json.toString();
+            return json().toString();
         }
 
         public boolean equals(JsonNode jsonNode, Predicate.PredicateContext ctx) {
             if (this == jsonNode) return true;
-            return !(json != null ? !json.equals(jsonNode.parse(ctx)) : jsonNode.json != null);
+            Object json = json();
+            return !(json != null ? !json.equals(jsonNode.parse(ctx)) : jsonNode.json() != null);
         }
 
         @Override
@@ -191,8 +315,9 @@ public interface ValueNodes {
             if (!(o instanceof JsonNode)) return false;
 
             JsonNode jsonNode = (JsonNode) o;
+            Object json = json();
 
-            return !(json != null ? !json.equals(jsonNode.json) : jsonNode.json != null);
+            return !(json != null ? !json.equals(jsonNode.json()) : jsonNode.json() != null);
         }
     }
 
@@ -535,6 +660,16 @@ public interface ValueNodes {
             return this;
         }
 
+        @Override
+        boolean referencesRoot() {
+            return FilterCompiler.referencesRoot(predicate);
+        }
+
+        @Override
+        boolean callsFunctions() {
+            return FilterCompiler.callsFunctions(predicate);
+        }
+
         @Override
         public Class<?> type(Predicate.PredicateContext ctx) {
             return Void.class;
@@ -557,7 +692,13 @@ public interface ValueNodes {
 
     class ValueListNode extends ValueNode implements Iterable<ValueNode> {
 
+        /**
+         * Lists with fewer nodes are searched linearly
+         */
+        private static final int INDEX_THRESHOLD = 8;
+
         private List<ValueNode> nodes = new ArrayList<ValueNode>();
+        private ValueSet index;
 
         public ValueListNode(Collection<?> values) {
             for (Object value : values) {
@@ -565,13 +706,35 @@ public interface ValueNodes {
             }
         }
 
+        /**
+         * @param values the elements of an array of a document, as iterated by the json provider
+         */
+        ValueListNode(Iterable<?> values, JsonProvider jsonProvider) {
+            for (Object value : values) {
+                nodes.add(toValueNode(jsonProvider.unwrap(value)));
+            }
+        }
+
+        /**
+         * Builds a hashed lookup of the string, number, boolean and null nodes for lists that are searched
+         * repeatedly, like the json literals of filters.
+         */
+        void index() {
+            if (index == null && nodes.size() >= INDEX_THRESHOLD) {
+                index = new ValueSet(nodes);
+            }
+        }
+
         public boolean contains(ValueNode node){
+            if (index != null && ValueSet.supports(node)) {
+                return index.contains(node);
+            }
             return nodes.contains(node);
         }
 
         public boolean subsetof(ValueListNode right) {
             for (ValueNode leftNode : nodes) {
-                if (!right.nodes.contains(leftNode)) {
+                if (!right.contains(leftNode)) {
                     return false;
                 }
             }
@@ -614,6 +777,65 @@ public interface ValueNodes {
         public Iterator<ValueNode> iterator() {
             return nodes.iterator();
         }
+
+        /**
+         * The string, number, boolean and null nodes of a list, hashed by the values they are
+         * {@link ValueNode#equals(Object) equal} to. Strings are equal to strings and numbers with the same
+         * text, numbers to numbers and strings with the same numeric value.
+         */
+        private static final class ValueSet {
+
+            private final Set<String> strings = new HashSet<String>();
+            private final Set<BigDecimal> numbers = new HashSet<BigDecimal>();
+            private boolean containsTrue;
+            private boolean containsFalse;
+            private boolean containsNull;
+
+            private ValueSet(List<ValueNode> nodes) {
+                for (ValueNode node : nodes) {
+                    if (node.isStringNode()) {
+                        strings.add(node.asStringNode().getString());
+                        NumberNode number = node.asStringNode().asNumberNode();
+                        if (number != NumberNode.NAN) {
+                            numbers.add(normalize(number.getNumber()));
+                        }
+                    } else if (node.isNumberNode()) {
+                        strings.add(node.asNumberNode().getNumber().toString());
+                        numbers.add(normalize(node.asNumberNode().getNumber()));
+                    } else if (node.isBooleanNode()) {
+                        if (node.asBooleanNode().getBoolean()) {
+                            containsTrue = true;
+                        } else {
+                            containsFalse = true;
+                        }
+                    } else if (node.isNullNode()) {
+                        containsNull = true;
+                    }
+                }
+            }
+
+            private static boolean supports(ValueNode node) {
+                return node.isStringNode()
+                        || node.isNumberNode() && node.asNumberNode().getNumber() != null
+                        || node.isBooleanNode()
+                        || node.isNullNode();
+            }
+
+            private static BigDecimal normalize(BigDecimal number) {
+                return number.signum() == 0 ? BigDecimal.ZERO : number.stripTrailingZeros();
+            }
+
+            private boolean contains(ValueNode node) {
+                if (node.isStringNode()) {
+                    return strings.contains(node.asStringNode().getString());
+                } else if (node.isNumberNode()) {
+                    return numbers.contains(normalize(node.asNumberNode().getNumber()));
+                } else if (node.isBooleanNode()) {
+                    return node.asBooleanNode().getBoolean() ? containsTrue : containsFalse;
+                }
+                return containsNull;
+            }
+        }
     }
 
     class PathNode extends ValueNode {
@@ -623,6 +845,7 @@ public interface ValueNodes {
         private final Path path;
         private final boolean existsCheck;
         private final boolean shouldExist;
+        private volatile Configuration existsConfiguration;
 
         PathNode(Path path) {
             this(path, false, false);
@@ -668,6 +891,16 @@ public interface ValueNodes {
             return new PathNode(path, true, shouldExist);
         }
 
+        @Override
+        boolean referencesRoot() {
+            return !(path instanceof CompiledPath) || ((CompiledPath) path).referencesRoot();
+        }
+
+        @Override
+        boolean callsFunctions() {
+            return !(path instanceof CompiledPath) || ((CompiledPath) path).callsFunctions();
+        }
+
         @Override
         public String toString() {
             return existsCheck && ! shouldExist ? Utils.concat("!" , path.toString()) : path.toString();
@@ -675,38 +908,74 @@ public interface ValueNodes {
 
         public ValueNode evaluate(Predicate.PredicateContext ctx) {
             if (isExistsCheck()) {
+                JsonProvider jsonProvider = ctx.configuration().jsonProvider();
+                if (path instanceof CompiledPath) {
+                    CompiledPath.Existence existence = ((CompiledPath) path).exists(ctx.item(), jsonProvider);
+                    if (existence != CompiledPath.Existence.UNKNOWN) {
+                        return existence == CompiledPath.Existence.EXISTS ? TRUE : FALSE;
+                    }
+                }
                 try {
-                    Configuration c = Configuration.builder().jsonProvider(ctx.configuration().jsonProvider()).options(Option.REQUIRE_PROPERTIES).build();
-                    Object result = path.evaluate(ctx.item(), ctx.root(), c).getValue(false);
+                    Configuration c = existsConfiguration(jsonProvider);
+                    Object result = path.evaluateValues(ctx.item(), ctx.root(), c).getValue(false);
                     return result == JsonProvider.UNDEFINED ? FALSE : TRUE;
                 } catch (PathNotFoundException e) {
                     return FALSE;
                 }
+            } else if (path.isRootPath() && ctx instanceof PredicateContextImpl) {
+                // the value of a root path is the same for every item, convert it once per evaluation
+                Map<Object, Object> operandCache = ((PredicateContextImpl) ctx).operandCache();
+                ValueNode value = (ValueNode) operandCache.get(this);
+                if (value == null) {
+                    value = evaluatePath(ctx);
+                    operandCache.put(this, value);
+                }
+                return value;
             } else {
-                try {
-                    Object res;
-                    if (ctx instanceof PredicateContextImpl) {
-                        //This will use cache for document ($) queries
-                        PredicateContextImpl ctxi = (PredicateContextImpl) ctx;
-                        res = ctxi.evaluate(path);
-                    } else {
-                        Object doc = path.isRootPath() ? ctx.root() : ctx.item();
-                        res = path.evaluate(doc, ctx.root(), ctx.configuration()).getValue();
-                    }
-                    res = ctx.configuration().jsonProvider().unwrap(res);
-
-                    if (res instanceof Number) return ValueNode.createNumberNode(res.toString());
-                    else if (res instanceof String) return ValueNode.createStringNode(res.toString(), false);
-                    else if (res instanceof Boolean) return ValueNode.createBooleanNode(res.toString());
-                    else if (res instanceof OffsetDateTime) return ValueNode.createOffsetDateTimeNode(res.toString()); //workaround for issue: https://github.com/json-path/JsonPath/issues/613
-                    else if (res == null) return NULL_NODE;
-                    else if (ctx.configuration().jsonProvider().isArray(res)) return ValueNode.createJsonNode(ctx.configuration().mappingProvider().map(res, List.class, ctx.configuration()));
-                    else if (ctx.configuration().jsonProvider().isMap(res)) return ValueNode.createJsonNode(ctx.configuration().mappingProvider().map(res, Map.class, ctx.configuration()));
-                    else throw new JsonPathException("Could not convert " + res.getClass().toString()+":"+ res.toString() + " to a ValueNode");
-                } catch (PathNotFoundException e) {
-                    return UNDEFINED;
+                return evaluatePath(ctx);
+            }
+        }
+
+        private ValueNode evaluatePath(Predicate.PredicateContext ctx) {
+            try {
+                Object res;
+                if (ctx instanceof PredicateContextImpl) {
+                    //This will use cache for document ($) queries
+                    PredicateContextImpl ctxi = (PredicateContextImpl) ctx;
+                    res = ctxi.evaluate(path);
+                } else {
+                    Object doc = path.isRootPath() ? ctx.root() : ctx.item();
+                    res = path.evaluateValues(doc, ctx.root(), ctx.configuration()).getValue();
                 }
+                return toValueNode(ctx.configuration().jsonProvider().unwrap(res), ctx);
+            } catch (PathNotFoundException e) {
+                return UNDEFINED;
+            }
+        }
+
+        /**
+         * @return the configuration existence checks are evaluated with, built once per json provider
+         */
+        private Configuration existsConfiguration(JsonProvider jsonProvider) {
+            Configuration configuration = existsConfiguration;
+            if (configuration == null || configuration.jsonProvider() != jsonProvider) {
+                configuration = Configuration.builder().jsonProvider(jsonProvider).options(Option.REQUIRE_PROPERTIES).build();
+                existsConfiguration = configuration;
             }
+            return configuration;
+        }
+
+        /**
+         * Converts an unwrapped result of a path to the node {@link #evaluate} returns for it.
+         */
+        static ValueNode toValueNode(Object res, Predicate.PredicateContext ctx) {
+            if (res instanceof Number) return ValueNode.createNumberNode(res.toString());
+            else if (res instanceof String) return ValueNode.createStringNode(res.toString(), false);
+            else if (res instanceof Boolean) return ValueNode.createBooleanNode(res.toString());
+            else if (res instanceof OffsetDateTime) return ValueNode.createOffsetDateTimeNode(res.toString()); //workaround for issue: https://github.com/json-path/JsonPath/issues/613
+            else if (res == null) return NULL_NODE;
+            else if (ctx.configuration().jsonProvider().isArray(res) || ctx.configuration().jsonProvider().isMap(res)) return new JsonNode(res, ctx.configuration());
+            else throw new JsonPathException("Could not convert " + res.getClass().toString()+":"+ res.toString() + " to a ValueNode");
         }
     }
 }
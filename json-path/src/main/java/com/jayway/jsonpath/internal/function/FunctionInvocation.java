@@ -0,0 +1,56 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.function;
+
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.PathRef;
+
+import java.util.List;
+
+/**
+ * Invokes path functions with parameters, binding the context of the evaluation to the current thread while the
+ * function runs so that the deprecated {@link Parameter#getValue()} can resolve the parameters.
+ */
+public final class FunctionInvocation {
+
+    private static final ThreadLocal<EvaluationContext> CONTEXT = new ThreadLocal<EvaluationContext>();
+
+    private FunctionInvocation() {
+    }
+
+    /**
+     * Invokes the function like {@link PathFunction#invoke}.
+     */
+    public static Object invoke(PathFunction function, String currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters) {
+        EvaluationContext previous = CONTEXT.get();
+        CONTEXT.set(ctx);
+        try {
+            return function.invoke(currentPath, parent, model, ctx, parameters);
+        } finally {
+            if (previous == null) {
+                CONTEXT.remove();
+            } else {
+                CONTEXT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return the context of the function invoked on the current thread, null if none
+     */
+    static EvaluationContext current() {
+        return CONTEXT.get();
+    }
+}
@@ -1,8 +1,9 @@
 package com.jayway.jsonpath.internal.function;
 
+import com.jayway.jsonpath.JsonPathException;
 import com.jayway.jsonpath.internal.EvaluationContext;
 import com.jayway.jsonpath.internal.Path;
-import com.jayway.jsonpath.internal.function.latebinding.ILateBindingValue;
+import com.jayway.jsonpath.spi.json.JsonProvider;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -10,13 +11,18 @@ import java.util.List;
 
 /**
  * Defines a parameter as passed to a function with late binding support for lazy evaluation.
+ * <p>
+ * Parameters are part of a compiled path and are not modified when it is evaluated, their values are bound by the
+ * {@link EvaluationContext}. Only the model of a JSON parameter is kept, so that it is parsed once per provider.
+ * <p>
+ * Supported API for custom functions, see {@link PathFunction}.
  */
 public class Parameter {
+
     private ParamType type;
     private Path path;
-    private ILateBindingValue lateBinding;
-    private Boolean evaluated = false;
     private String json;
+    private volatile ParsedJson parsedJson;
 
     public Parameter() {}
 
@@ -30,24 +36,77 @@ public class Parameter {
         this.type = ParamType.PATH;
     }
 
+    /**
+     * Obtains the value of this parameter for the function being invoked on the current thread.
+     *
+     * @deprecated the value is bound to the evaluation of a path, use {@link #getValue(EvaluationContext)} with the
+     * context passed to {@link PathFunction#invoke}
+     *
+     * @return
+     *      The value of the parameter.
+     *
+     * @throws JsonPathException if no function is being invoked on the current thread
+     */
+    @Deprecated
     public Object getValue() {
-        return lateBinding.get();
+        EvaluationContext ctx = FunctionInvocation.current();
+        if (ctx == null) {
+            throw new JsonPathException("Parameter values are bound to the evaluation of a path, use getValue(EvaluationContext) with the context passed to the function");
+        }
+        return getValue(ctx);
     }
 
-    public void setLateBinding(ILateBindingValue lateBinding) {
-        this.lateBinding = lateBinding;
+    /**
+     * Obtains the value of this parameter for the evaluation of a path.
+     *
+     * @param ctx
+     *      Context of the evaluation calling the function.
+     *
+     * @return
+     *      The value of the parameter.
+     */
+    public Object getValue(EvaluationContext ctx) {
+        return ctx.parameterValue(this);
     }
 
-    public Path getPath() {
-        return path;
+    /**
+     * Obtains the value of this parameter for a function that modifies it or adds it to the document. JSON
+     * parameters are parsed again rather than handing out the shared model.
+     *
+     * @param ctx
+     *      Context of the evaluation calling the function.
+     *
+     * @return
+     *      The value of the parameter.
+     */
+    public Object getMutableValue(EvaluationContext ctx) {
+        if (type == ParamType.JSON) {
+            return ctx.configuration().jsonProvider().parse(json);
+        }
+        return getValue(ctx);
     }
 
-    public void setEvaluated(Boolean evaluated) {
-        this.evaluated = evaluated;
+    /**
+     * Returns the model of this JSON parameter, parsed on the first call for a provider. The model is shared by all
+     * evaluations of the path and must not be modified.
+     *
+     * @param jsonProvider
+     *      The provider of the evaluation.
+     *
+     * @return
+     *      The parsed JSON.
+     */
+    public Object getJsonModel(JsonProvider jsonProvider) {
+        ParsedJson parsed = parsedJson;
+        if (parsed == null || parsed.jsonProvider != jsonProvider) {
+            parsed = new ParsedJson(jsonProvider, jsonProvider.parse(json));
+            parsedJson = parsed;
+        }
+        return parsed.model;
     }
 
-    public boolean hasEvaluated() {
-        return evaluated;
+    public Path getPath() {
+        return path;
     }
 
     public ParamType getType() {
@@ -68,10 +127,7 @@ public class Parameter {
 
     public void setJson(String json) {
         this.json = json;
-    }
-
-    public ILateBindingValue getILateBingValue(){
-        return lateBinding;
+        this.parsedJson = null;
     }
 
     /**
@@ -96,7 +152,7 @@ public class Parameter {
         List<T> values = new ArrayList();
         if (null != parameters) {
             for (Parameter param : parameters) {
-                consume(type, ctx, values, param.getValue());
+                consume(type, ctx, values, param.getValue(ctx));
             }
         }
         return values;
@@ -134,4 +190,14 @@ public class Parameter {
             }
         }
     }
+
+    private static final class ParsedJson {
+        private final JsonProvider jsonProvider;
+        private final Object model;
+
+        private ParsedJson(JsonProvider jsonProvider, Object model) {
+            this.jsonProvider = jsonProvider;
+            this.model = model;
+        }
+    }
 }
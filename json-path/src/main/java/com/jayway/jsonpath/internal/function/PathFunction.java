@@ -10,6 +10,11 @@ import java.util.List;
  * being grabbed.  The Function's input is the content of the data from the json path selector and its output
  * is defined via the functions behavior.  Thus transformations in types can take place.  Additionally, functions
  * can accept multiple selectors in order to produce their output.
+ * <p>
+ * Although it lives in an internal package, this interface, {@link Parameter} and the
+ * {@link com.jayway.jsonpath.internal.EvaluationContext} passed to {@link #invoke} are supported API for
+ * functions registered through {@link com.jayway.jsonpath.spi.function.PathFunctionProvider}, and their packages
+ * are exported to OSGi.
  *
  * Created by matt@mjgreenwood.net on 6/26/15.
  */
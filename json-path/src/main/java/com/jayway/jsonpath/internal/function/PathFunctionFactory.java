@@ -14,10 +14,18 @@ import com.jayway.jsonpath.internal.function.sequence.Last;
 import com.jayway.jsonpath.internal.function.text.Concatenate;
 import com.jayway.jsonpath.internal.function.text.Length;
 import com.jayway.jsonpath.internal.function.text.Substring;
+import com.jayway.jsonpath.spi.function.PathFunctionProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+import static com.jayway.jsonpath.internal.Utils.notNull;
 
 /**
  * Implements a factory that given a name of the function will return the Function implementation, or null
@@ -25,11 +33,19 @@ import java.util.Map;
  * <p>
  * Leverages the function's name in order to determine which function to execute which is maintained internally
  * here via a static map
+ * <p>
+ * Functions are resolved from a registry of shared, stateless instances. The registry holds one instance of every
+ * built-in function, the functions of all {@link PathFunctionProvider}s found by the {@link ServiceLoader} and the
+ * functions added with {@link #register(String, PathFunction)}.
  */
 public class PathFunctionFactory {
 
+    private static final Logger logger = LoggerFactory.getLogger(PathFunctionFactory.class);
+
     public static final Map<String, Class> FUNCTIONS;
 
+    private static volatile Map<String, PathFunction> registry;
+
     static {
         // New functions should be added here and ensure the name is not overridden
         Map<String, Class> map = new HashMap<String, Class>();
@@ -58,10 +74,67 @@ public class PathFunctionFactory {
 
 
         FUNCTIONS = Collections.unmodifiableMap(map);
+
+        Map<String, PathFunction> functions = new HashMap<String, PathFunction>();
+        for (Map.Entry<String, Class> entry : FUNCTIONS.entrySet()) {
+            functions.put(entry.getKey(), newFunction(entry.getKey()));
+        }
+        Iterator<PathFunctionProvider> providers = ServiceLoader.load(PathFunctionProvider.class).iterator();
+        while (true) {
+            try {
+                if (!providers.hasNext()) {
+                    break;
+                }
+                functions.putAll(providers.next().getFunctions());
+            } catch (ServiceConfigurationError e) {
+                logger.warn("Failed to load path function provider", e);
+            }
+        }
+        registry = functions;
+    }
+
+    /**
+     * Returns the shared instance of a function by name or throws InvalidPathException if function not found.
+     *
+     * @param name The name of the function
+     * @return The implementation of a function
+     * @throws InvalidPathException
+     */
+    public static PathFunction getFunction(String name) throws InvalidPathException {
+        PathFunction function = lookup(name);
+        if (function == null) {
+            throw new InvalidPathException("Function with name: " + name + " does not exist.");
+        }
+        return function;
+    }
+
+    /**
+     * Returns the shared instance of a function by name, or null if function not found.
+     *
+     * @param name The name of the function
+     * @return The implementation of a function or null
+     */
+    public static PathFunction lookup(String name) {
+        return name == null ? null : registry.get(name);
+    }
+
+    /**
+     * Registers a function, replacing any function of the same name. The function is shared by all paths and
+     * threads and must therefore be stateless. Paths already compiled keep the function they resolved.
+     *
+     * @param name The name used to call the function in a path
+     * @param function The implementation of the function
+     */
+    public static synchronized void register(String name, PathFunction function) {
+        notNull(name, "name can not be null");
+        notNull(function, "function can not be null");
+        Map<String, PathFunction> functions = new HashMap<String, PathFunction>(registry);
+        functions.put(name, function);
+        registry = functions;
     }
 
     /**
-     * Returns the function by name or throws InvalidPathException if function not found.
+     * Creates a new instance of a built-in function by name or throws InvalidPathException if function not found.
      *
      * @param name The name of the function
      * @return The implementation of a function
@@ -32,12 +32,13 @@ public class JsonLateBindingValue implements ILateBindingValue {
 
     /**
      * Evaluate the JSON document at the point of need using the JSON parameter and associated document model which may
-     * itself originate from yet another function thus recursively invoking late binding methods.
+     * itself originate from yet another function thus recursively invoking late binding methods. The parameter keeps
+     * the parsed model, so the JSON is only parsed once per provider.
      *
      * @return the late value
      */
     @Override
     public Object get() {
-        return jsonProvider.parse(jsonParameter.getJson());
+        return jsonParameter.getJsonModel(jsonProvider);
     }
 }
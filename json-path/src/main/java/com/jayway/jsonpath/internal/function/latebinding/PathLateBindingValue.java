@@ -27,22 +27,28 @@ import java.util.Objects;
  *
  */
 public class PathLateBindingValue implements ILateBindingValue {
+    private static final Object UNEVALUATED = new Object();
+
     private final Path path;
-    private final String rootDocument;
+    private final Object rootDocument;
     private final Configuration configuration;
-    private final Object result;
+    private Object result = UNEVALUATED;
+
     public PathLateBindingValue(final Path path, final Object rootDocument, final Configuration configuration) {
         this.path = path;
-        this.rootDocument = rootDocument.toString();
+        this.rootDocument = rootDocument;
         this.configuration = configuration;
-        this.result = path.evaluate(rootDocument, rootDocument, configuration).getValue();
     }
 
     /**
+     * Evaluates the path on the first call and returns the same result afterwards.
      *
      * @return the late value
      */
     public Object get() {
+        if (result == UNEVALUATED) {
+            result = path.evaluateValues(rootDocument, rootDocument, configuration).getValue();
+        }
         return result;
     }
 
@@ -52,7 +58,12 @@ public class PathLateBindingValue implements ILateBindingValue {
         if (o == null || getClass() != o.getClass()) return false;
         PathLateBindingValue that = (PathLateBindingValue) o;
         return Objects.equals(path, that.path) &&
-                rootDocument.equals(that.rootDocument) &&
+                rootDocument == that.rootDocument &&
                 Objects.equals(configuration, that.configuration);
     }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(path, System.identityHashCode(rootDocument), configuration);
+    }
 }
@@ -1,10 +1,17 @@
 package com.jayway.jsonpath.internal.function.numeric;
 
 import com.jayway.jsonpath.JsonPathException;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.PathNotFoundException;
 import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.Path;
 import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.internal.ResultHandler;
+import com.jayway.jsonpath.internal.function.ParamType;
 import com.jayway.jsonpath.internal.function.Parameter;
 import com.jayway.jsonpath.internal.function.PathFunction;
+import com.jayway.jsonpath.internal.path.EvaluationPath;
+import com.jayway.jsonpath.spi.json.JsonProvider;
 
 import java.util.List;
 
@@ -13,49 +20,154 @@ import java.util.List;
  * of JSONArray entities and verifies that each is a numerical value and then passes that along the abstract methods
  *
  *
+ * The function itself is stateless, every invocation collects its values in a new {@link Accumulator}. When the
+ * function is invoked only once in an evaluation, the values of path parameters are handed to the accumulator as the
+ * path finds them, without collecting them in an array first. Otherwise they are bound to the evaluation context, so
+ * that they are evaluated once for all invocations.
+ *
  * Created by mattg on 6/26/15.
  */
 public abstract class AbstractAggregation implements PathFunction {
 
     /**
-     * Defines the next value in the array to the mathmatical function
-     *
-     * @param value
-     *      The numerical value to process next
+     * Holds the state of a single invocation of the aggregation
      */
-    protected abstract void next(Number value);
+    protected abstract static class Accumulator {
+
+        private long count;
+
+        /**
+         * Defines the next value in the array to the mathmatical function
+         *
+         * @param value
+         *      The numerical value to process next
+         */
+        protected final void next(Number value) {
+            count++;
+            if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                next(value.longValue());
+            } else {
+                next(value.doubleValue());
+            }
+        }
+
+        /**
+         * Defines the next integral value, by default it is processed as a double
+         *
+         * @param value
+         *      The numerical value to process next
+         */
+        protected void next(long value) {
+            next((double) value);
+        }
+
+        /**
+         * Defines the next value that is not integral
+         *
+         * @param value
+         *      The numerical value to process next
+         */
+        protected abstract void next(double value);
+
+        /**
+         * @return the number of values processed so far
+         */
+        protected final long count() {
+            return count;
+        }
+
+        /**
+         * Obtains the value generated via the series of next value calls
+         *
+         * @return
+         *      A numerical answer based on the input value provided
+         */
+        protected abstract Number getValue();
+    }
 
     /**
-     * Obtains the value generated via the series of next value calls
-     *
-     * @return
-     *      A numerical answer based on the input value provided
+     * @return a new, empty accumulator for one invocation of the function
      */
-    protected abstract Number getValue();
+    protected abstract Accumulator newAccumulator();
 
     @Override
     public Object invoke(String currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters) {
-        int count = 0;
-        if(ctx.configuration().jsonProvider().isArray(model)){
+        JsonProvider jsonProvider = ctx.configuration().jsonProvider();
+        Accumulator accumulator = newAccumulator();
+        if(jsonProvider.isArray(model)){
 
-            Iterable<?> objects = ctx.configuration().jsonProvider().toIterable(model);
+            Iterable<?> objects = jsonProvider.toIterable(model);
             for (Object obj : objects) {
                 if (obj instanceof Number) {
-                    Number value = (Number) obj;
-                    count++;
-                    next(value);
+                    accumulator.next((Number) obj);
                 }
             }
         }
         if (parameters != null) {
-            for (Number value : Parameter.toList(Number.class, ctx, parameters)) {
-                count++;
-                next(value);
+            for (Parameter param : parameters) {
+                if (param.getType() == ParamType.PATH && !param.getPath().isFunctionPath()
+                        && ctx.isFunctionInvokedOnce() && ctx.configuration().getEvaluationListeners().isEmpty()) {
+                    accumulatePath(param.getPath(), ctx, accumulator);
+                } else {
+                    accumulateValue(param.getValue(ctx), jsonProvider, accumulator);
+                }
             }
         }
-        if (count != 0) {
-            return getValue();
+        if (accumulator.count() != 0) {
+            return accumulator.getValue();
         }
         throw new JsonPathException("Aggregation function attempted to calculate value using empty array");
     }
+
+    /**
+     * Adds the numbers of a parameter value, like {@link Parameter#toList(Class, EvaluationContext, List)} does.
+     */
+    private static void accumulateValue(Object value, JsonProvider jsonProvider, Accumulator accumulator) {
+        if (jsonProvider.isArray(value)) {
+            for (Object o : jsonProvider.toIterable(value)) {
+                if (o instanceof Number) {
+                    accumulator.next((Number) o);
+                }
+            }
+        } else if (value instanceof Number) {
+            accumulator.next((Number) value);
+        }
+    }
+
+    /**
+     * Evaluates a path parameter against the root document and adds the numbers it finds. The values are the same
+     * {@link Parameter#getValue(EvaluationContext)} would return: the single result of a definite path, which may be
+     * an array of numbers, or the results of an indefinite path that are numbers.
+     */
+    private static void accumulatePath(final Path path, EvaluationContext ctx, final Accumulator accumulator) {
+        final JsonProvider jsonProvider = ctx.configuration().jsonProvider();
+        if (path.isDefinite()) {
+            final Object[] last = new Object[1];
+            EvaluationContext result = path.evaluate(ctx.rootDocument(), ctx.rootDocument(), ctx.configuration(), new ResultHandler() {
+                @Override
+                public boolean resultFound(EvaluationPath evaluationPath, Object value) {
+                    last[0] = value;
+                    return true;
+                }
+            });
+            if (!result.hasResults()) {
+                if (ctx.configuration().containsOption(Option.SUPPRESS_EXCEPTIONS)) {
+                    return;
+                }
+                throw new PathNotFoundException("No results for path: " + path.toString());
+            }
+            accumulateValue(jsonProvider.unwrap(last[0]), jsonProvider, accumulator);
+        } else {
+            path.evaluate(ctx.rootDocument(), ctx.rootDocument(), ctx.configuration(), new ResultHandler() {
+                @Override
+                public boolean resultFound(EvaluationPath evaluationPath, Object value) {
+                    Object unwrapped = jsonProvider.unwrap(value);
+                    if (unwrapped instanceof Number) {
+                        accumulator.next((Number) unwrapped);
+                    }
+                    return true;
+                }
+            });
+        }
+    }
 }
@@ -7,20 +7,28 @@ package com.jayway.jsonpath.internal.function.numeric;
  */
 public class Average extends AbstractAggregation {
 
-    private Double summation = 0d;
-    private Double count = 0d;
-
     @Override
-    protected void next(Number value) {
-        count++;
-        summation += value.doubleValue();
-    }
+    protected Accumulator newAccumulator() {
+        return new Accumulator() {
+            private final Summation summation = new Summation();
 
-    @Override
-    protected Number getValue() {
-        if (count != 0d) {
-            return summation / count;
-        }
-        return 0d;
+            @Override
+            protected void next(long value) {
+                summation.add(value);
+            }
+
+            @Override
+            protected void next(double value) {
+                summation.add(value);
+            }
+
+            @Override
+            protected Number getValue() {
+                if (count() != 0) {
+                    return summation.doubleValue() / count();
+                }
+                return 0d;
+            }
+        };
     }
 }
@@ -6,17 +6,23 @@ package com.jayway.jsonpath.internal.function.numeric;
  * Created by mattg on 6/26/15.
  */
 public class Max extends AbstractAggregation {
-    private Double max = Double.MIN_VALUE;
 
     @Override
-    protected void next(Number value) {
-        if (max < value.doubleValue()) {
-            max = value.doubleValue();
-        }
-    }
+    protected Accumulator newAccumulator() {
+        return new Accumulator() {
+            private double max = Double.MIN_VALUE;
 
-    @Override
-    protected Number getValue() {
-        return max;
+            @Override
+            protected void next(double value) {
+                if (max < value) {
+                    max = value;
+                }
+            }
+
+            @Override
+            protected Number getValue() {
+                return max;
+            }
+        };
     }
 }
@@ -2,23 +2,31 @@ package com.jayway.jsonpath.internal.function.numeric;
 
 /**
  * Provides the standard deviation of a series of numbers
+ * <p>
+ * Uses Welford's algorithm, which updates the mean and the sum of squared differences from it with every value and
+ * does not lose precision to cancellation like subtracting the squared mean from the mean of squares does.
  *
  * Created by mattg on 6/27/15.
  */
 public class StandardDeviation extends AbstractAggregation {
-    private Double sumSq = 0d;
-    private Double sum = 0d;
-    private Double count = 0d;
 
     @Override
-    protected void next(Number value) {
-        sum += value.doubleValue();
-        sumSq += value.doubleValue() * value.doubleValue();
-        count++;
-    }
+    protected Accumulator newAccumulator() {
+        return new Accumulator() {
+            private double mean = 0d;
+            private double m2 = 0d;
 
-    @Override
-    protected Number getValue() {
-        return Math.sqrt(sumSq/count - sum*sum/count/count);
+            @Override
+            protected void next(double value) {
+                double delta = value - mean;
+                mean += delta / count();
+                m2 += delta * (value - mean);
+            }
+
+            @Override
+            protected Number getValue() {
+                return Math.sqrt(m2 / count());
+            }
+        };
     }
 }
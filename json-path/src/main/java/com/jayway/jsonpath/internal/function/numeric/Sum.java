@@ -6,15 +6,26 @@ package com.jayway.jsonpath.internal.function.numeric;
  * Created by mattg on 6/26/15.
  */
 public class Sum extends AbstractAggregation {
-    private Double summation = 0d;
 
     @Override
-    protected void next(Number value) {
-        summation += value.doubleValue();
-    }
+    protected Accumulator newAccumulator() {
+        return new Accumulator() {
+            private final Summation summation = new Summation();
 
-    @Override
-    protected Number getValue() {
-        return summation;
+            @Override
+            protected void next(long value) {
+                summation.add(value);
+            }
+
+            @Override
+            protected void next(double value) {
+                summation.add(value);
+            }
+
+            @Override
+            protected Number getValue() {
+                return summation.doubleValue();
+            }
+        };
     }
 }
@@ -0,0 +1,46 @@
+package com.jayway.jsonpath.internal.function.numeric;
+
+import java.math.BigDecimal;
+
+/**
+ * Adds up a series of numbers. Integral values are added exactly in a long, and in a BigDecimal once the long
+ * overflows. The first value that is not integral switches to adding doubles.
+ */
+final class Summation {
+
+    private long longSum;
+    private BigDecimal bigSum;
+    private double doubleSum;
+    private boolean inexact;
+
+    void add(long value) {
+        if (inexact) {
+            doubleSum += value;
+        } else if (bigSum != null) {
+            bigSum = bigSum.add(BigDecimal.valueOf(value));
+        } else {
+            long sum = longSum + value;
+            // overflow if both operands have the sign opposite to the sum
+            if (((longSum ^ sum) & (value ^ sum)) < 0) {
+                bigSum = BigDecimal.valueOf(longSum).add(BigDecimal.valueOf(value));
+            } else {
+                longSum = sum;
+            }
+        }
+    }
+
+    void add(double value) {
+        if (!inexact) {
+            doubleSum = doubleValue();
+            inexact = true;
+        }
+        doubleSum += value;
+    }
+
+    double doubleValue() {
+        if (inexact) {
+            return doubleSum;
+        }
+        return bigSum != null ? bigSum.doubleValue() : longSum;
+    }
+}
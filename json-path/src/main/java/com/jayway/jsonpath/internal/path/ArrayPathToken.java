@@ -31,7 +31,7 @@ public abstract class ArrayPathToken extends PathToken {
      * @throws PathNotFoundException if model is null and evaluation must be interrupted
      * @throws InvalidPathException if model is not an array and evaluation must be interrupted
      */
-    protected boolean checkArrayModel(String currentPath, Object model, EvaluationContextImpl ctx) {
+    protected boolean checkArrayModel(EvaluationPath currentPath, Object model, EvaluationContextImpl ctx) {
         if (model == null){
             if (!isUpstreamDefinite()
                     || ctx.options().contains(Option.SUPPRESS_EXCEPTIONS)) {
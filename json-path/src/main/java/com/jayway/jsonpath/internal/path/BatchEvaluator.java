@@ -0,0 +1,235 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.internal.EvaluationAbortException;
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.jayway.jsonpath.internal.Utils.notNull;
+
+/**
+ * Evaluates several paths in one traversal of a document.
+ * <p>
+ * The paths are merged into a trie on their leading property and array index tokens, so a prefix the paths
+ * share, like {@code $.payload.order} in {@code $.payload.order.id} and {@code $.payload.order.items[*]}, is
+ * resolved once. Where the paths diverge, the rest of each path is evaluated as usual. If a shared token can
+ * not be resolved, a missing property for example, each path evaluates its own token on the current value, so
+ * errors and options are handled exactly as if the path had been evaluated on its own.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ */
+public final class BatchEvaluator {
+
+    private final List<CompiledPath> paths;
+    /**
+     * Tries keyed by root token, $ or @
+     */
+    private final Map<String, Node> roots = new LinkedHashMap<String, Node>();
+
+    /**
+     * @param paths compiled paths to evaluate, as returned by {@link PathCompiler#compile}, without functions
+     */
+    public BatchEvaluator(List<? extends Path> paths) {
+        notNull(paths, "paths can not be null");
+        this.paths = new ArrayList<CompiledPath>(paths.size());
+        for (Path path : paths) {
+            this.paths.add((CompiledPath) path);
+        }
+        for (int i = 0; i < this.paths.size(); i++) {
+            CompiledPath path = this.paths.get(i);
+            RootPathToken rootToken = path.getRoot();
+            Node node = roots.get(rootToken.getPathFragment());
+            if (node == null) {
+                node = new Node();
+                roots.put(rootToken.getPathFragment(), node);
+            }
+            PathToken token = rootToken;
+            Object key;
+            while (!token.isLeaf() && (key = shareableKey(token.next())) != null) {
+                token = token.next();
+                Node child = node.children.get(key);
+                if (child == null) {
+                    child = new Node();
+                    node.children.put(key, child);
+                }
+                child.entries.add(new Entry(i, token));
+                node = child;
+            }
+            // the first token not resolved by the trie, the root itself if it is all of the path
+            node.terminals.add(new Entry(i, token.isLeaf() ? token : token.next()));
+        }
+    }
+
+    /**
+     * @return the number of paths evaluated
+     */
+    public int size() {
+        return paths.size();
+    }
+
+    /**
+     * Evaluates all paths on the given document.
+     *
+     * @param document      the json document to apply the paths on
+     * @param configuration configuration to use
+     * @return the evaluation context of every path, in the order of the paths
+     */
+    public EvaluationContext[] evaluate(Object document, Configuration configuration) {
+        notNull(document, "document can not be null");
+        notNull(configuration, "configuration can not be null");
+        EvaluationContextImpl[] contexts = new EvaluationContextImpl[paths.size()];
+        for (int i = 0; i < contexts.length; i++) {
+            contexts[i] = new EvaluationContextImpl(paths.get(i), document, configuration, false, false);
+        }
+        Traversal traversal = new Traversal(configuration, contexts);
+        for (Map.Entry<String, Node> root : roots.entrySet()) {
+            traversal.visit(root.getValue(), EvaluationPath.root(root.getKey()), document);
+        }
+        return contexts;
+    }
+
+    /**
+     * @return the trie key of a token that is not a leaf and selects a single property or array index,
+     * null for all other tokens
+     */
+    private static Object shareableKey(PathToken token) {
+        if (token.isLeaf()) {
+            // leaves add results, they are always evaluated by their own path
+            return null;
+        }
+        if (token instanceof PropertyPathToken && ((PropertyPathToken) token).singlePropertyCase()) {
+            return ((PropertyPathToken) token).getProperties().get(0);
+        }
+        if (token instanceof ArrayIndexToken && ((ArrayIndexToken) token).operation().isSingleIndexOperation()) {
+            return ((ArrayIndexToken) token).operation().indexes().get(0);
+        }
+        return null;
+    }
+
+    private static final class Entry {
+        private final int pathIndex;
+        private final PathToken token;
+
+        private Entry(int pathIndex, PathToken token) {
+            this.pathIndex = pathIndex;
+            this.token = token;
+        }
+    }
+
+    /**
+     * A node of the trie. Its value is the result of the tokens on the way from the root.
+     */
+    private static final class Node {
+        /**
+         * The token each path passing this node resolves from the value of the parent node
+         */
+        private final List<Entry> entries = new ArrayList<Entry>();
+        /**
+         * The first token not resolved by the trie of each path ending in this node
+         */
+        private final List<Entry> terminals = new ArrayList<Entry>();
+        /**
+         * Children keyed by property name (String) or array index (Integer)
+         */
+        private final Map<Object, Node> children = new LinkedHashMap<Object, Node>();
+    }
+
+    private static final class Traversal {
+        private final JsonProvider jsonProvider;
+        private final boolean createMissing;
+        private final EvaluationContextImpl[] contexts;
+        private final boolean[] aborted;
+
+        private Traversal(Configuration configuration, EvaluationContextImpl[] contexts) {
+            this.jsonProvider = configuration.jsonProvider();
+            this.createMissing = configuration.containsOption(Option.CREATE_MISSING_PROPERTIES_ON_DEFINITE_PATH);
+            this.contexts = contexts;
+            this.aborted = new boolean[contexts.length];
+        }
+
+        private void visit(Node node, EvaluationPath currentPath, Object model) {
+            for (Entry terminal : node.terminals) {
+                evaluate(terminal, currentPath, model);
+            }
+            for (Map.Entry<Object, Node> child : node.children.entrySet()) {
+                Object key = child.getKey();
+                Object value = resolve(key, model);
+                if (value == JsonProvider.UNDEFINED) {
+                    // let every path decide what a missing value means
+                    for (Entry entry : child.getValue().entries) {
+                        evaluate(entry, currentPath, model);
+                    }
+                } else if (key instanceof String) {
+                    visit(child.getValue(), currentPath.property((String) key), value);
+                } else {
+                    visit(child.getValue(), currentPath.index((Integer) key), value);
+                }
+            }
+        }
+
+        /**
+         * @return the value the key selects in the model or {@link JsonProvider#UNDEFINED} if it can not
+         * be selected without side effects
+         */
+        private Object resolve(Object key, Object model) {
+            Object value;
+            if (key instanceof String) {
+                if (!jsonProvider.isMap(model)) {
+                    return JsonProvider.UNDEFINED;
+                }
+                value = jsonProvider.getMapValue(model, (String) key);
+            } else {
+                if (model == null || !jsonProvider.isArray(model)) {
+                    return JsonProvider.UNDEFINED;
+                }
+                int index = (Integer) key;
+                int length = jsonProvider.length(model);
+                int effectiveIndex = index < 0 ? length + index : index;
+                if (effectiveIndex < 0 || effectiveIndex >= length) {
+                    return JsonProvider.UNDEFINED;
+                }
+                value = jsonProvider.getArrayIndex(model, effectiveIndex);
+            }
+            if (value == null && createMissing) {
+                // the token creates the missing container
+                return JsonProvider.UNDEFINED;
+            }
+            return value;
+        }
+
+        private void evaluate(Entry entry, EvaluationPath currentPath, Object model) {
+            int i = entry.pathIndex;
+            if (aborted[i]) {
+                return;
+            }
+            try {
+                entry.token.evaluate(currentPath, PathRef.NO_OP, model, contexts[i]);
+            } catch (EvaluationAbortException abort) {
+                aborted[i] = true;
+            }
+        }
+    }
+}
@@ -15,29 +15,77 @@
 package com.jayway.jsonpath.internal.path;
 
 import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.internal.DocumentIndex;
 import com.jayway.jsonpath.internal.EvaluationAbortException;
 import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.JsonTokenizer;
 import com.jayway.jsonpath.internal.Path;
 import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.internal.ResultHandler;
 import com.jayway.jsonpath.internal.function.ParamType;
 import com.jayway.jsonpath.internal.function.Parameter;
+import com.jayway.jsonpath.internal.function.text.Length;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 public class CompiledPath implements Path {
 
     private static final Logger logger = LoggerFactory.getLogger(CompiledPath.class);
 
+    private static final EvaluationPath EMPTY_PATH = EvaluationPath.root("");
+
+    private static final Object[] NOT_CHECKABLE = new Object[0];
+
+    /**
+     * The result of an existence check, see {@link #exists(Object, JsonProvider)}
+     */
+    public enum Existence {
+        EXISTS,
+        MISSING,
+        /**
+         * The path has to be evaluated to find out if it exists
+         */
+        UNKNOWN
+    }
+
+    /**
+     * Returned by {@link #readDefinite(Object, Configuration)} if the path has to be evaluated instead
+     */
+    public static final Object EVALUATE = new Object();
+
+    /**
+     * Returned by {@link #readDefinite(Object, Configuration)} if the path has no result
+     */
+    public static final Object NOT_FOUND = new Object();
+
     private final RootPathToken root;
 
     private final boolean isRootPath;
 
+    /**
+     * False if a token after a deep scan might call path functions, see {@link Option#PARALLEL_DEEP_SCAN}
+     */
+    private final boolean parallelScans;
+
+    /**
+     * The property names and array indexes of a path like @.a[0].b, {@link #NOT_CHECKABLE} for other paths
+     */
+    private volatile Object[] steps;
 
     public CompiledPath(RootPathToken root, boolean isRootPath) {
         this.root = invertScannerFunctionRelationship(root);
         this.isRootPath = isRootPath;
+        appendLengthWildcards(this.root);
+        this.parallelScans = !scanCallsFunctions(this.root);
     }
 
     @Override
@@ -83,16 +131,60 @@ public class CompiledPath implements Path {
         return path;
     }
 
+    /**
+     * The length of a path parameter is the number of children of the node it selects, so $.length($..book) is
+     * evaluated as the length of $..book.*. The wildcard is appended here, once, so that evaluating the function
+     * does not modify the compiled path.
+     *
+     * @param path the root of this path
+     */
+    private static void appendLengthWildcards(final RootPathToken path) {
+        for (PathToken token = path.getNext(); null != token; token = token.getNext()) {
+            if (token instanceof FunctionPathToken && ((FunctionPathToken) token).getFunction() instanceof Length) {
+                List<Parameter> parameters = ((FunctionPathToken) token).getParameters();
+                if (null != parameters && !parameters.isEmpty() && parameters.get(0).getType() == ParamType.PATH) {
+                    Path parameterPath = parameters.get(0).getPath();
+                    if (parameterPath instanceof CompiledPath && !parameterPath.isFunctionPath()) {
+                        RootPathToken parameterRoot = ((CompiledPath) parameterPath).getRoot();
+                        if (null != parameterRoot.getNext()) {
+                            parameterRoot.append(new WildcardPathToken());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration, boolean forUpdate) {
+        return evaluate(new EvaluationContextImpl(this, rootDocument, configuration, forUpdate), document);
+    }
+
+    @Override
+    public EvaluationContext evaluateValues(Object document, Object rootDocument, Configuration configuration) {
+        return evaluate(new EvaluationContextImpl(this, rootDocument, configuration, false, false), document);
+    }
+
+    @Override
+    public EvaluationContext evaluateValues(Object document, Object rootDocument, Configuration configuration, DocumentIndex documentIndex) {
+        EvaluationContextImpl ctx = new EvaluationContextImpl(this, rootDocument, configuration, false, false);
+        ctx.setDocumentIndex(documentIndex);
+        return evaluate(ctx, document);
+    }
+
+    @Override
+    public EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration, ResultHandler resultHandler) {
+        return evaluate(new EvaluationContextImpl(this, rootDocument, configuration, resultHandler), document);
+    }
+
+    private EvaluationContext evaluate(EvaluationContextImpl ctx, Object document) {
         if (logger.isDebugEnabled()) {
             logger.debug("Evaluating path: {}", toString());
         }
 
-        EvaluationContextImpl ctx = new EvaluationContextImpl(this, rootDocument, configuration, forUpdate);
         try {
-            PathRef op = ctx.forUpdate() ? PathRef.createRoot(rootDocument) : PathRef.NO_OP;
-            root.evaluate("", op, document, ctx);
+            PathRef op = ctx.forUpdate() ? PathRef.createRoot(ctx.rootDocument()) : PathRef.NO_OP;
+            root.evaluate(EMPTY_PATH, op, document, ctx);
         } catch (EvaluationAbortException abort) {
         }
 
@@ -104,6 +196,203 @@ public class CompiledPath implements Path {
         return evaluate(document, rootDocument, configuration, false);
     }
 
+    @Override
+    public EvaluationContext evaluateStream(Reader json, Configuration configuration) throws IOException {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Evaluating path on stream: {}", toString());
+        }
+        return new StreamingEvaluator(this, configuration).evaluate(new JsonTokenizer(json));
+    }
+
+    @Override
+    public boolean isStreamable(Configuration configuration) {
+        return StreamingEvaluator.isStreamable(root, configuration);
+    }
+
+    /**
+     * @return true if evaluating this path reads the root document, either because it is a root path or
+     * because one of its tokens does
+     */
+    public boolean referencesRoot() {
+        if (isRootPath) {
+            return true;
+        }
+        PathToken token = root;
+        while (!token.isLeaf()) {
+            token = token.next();
+            if (token.referencesRoot()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the deep scans of this path can walk large arrays and objects on several threads
+     */
+    boolean parallelScans() {
+        return parallelScans;
+    }
+
+    private static boolean scanCallsFunctions(RootPathToken root) {
+        boolean scanned = false;
+        PathToken token = root;
+        while (!token.isLeaf()) {
+            token = token.next();
+            scanned |= token instanceof ScanPathToken;
+            if (scanned && token.callsFunctions()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if evaluating this path might call path functions, in one of its tokens or in a filter
+     */
+    public boolean callsFunctions() {
+        PathToken token = root;
+        while (!token.isLeaf()) {
+            token = token.next();
+            if (token.callsFunctions()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if this path finds a value in the document when evaluated with {@link Option#REQUIRE_PROPERTIES},
+     * without evaluating it and without throwing for missing properties. Only paths made of single properties and
+     * array indexes can be checked this way.
+     *
+     * @param document the document to check
+     * @param jsonProvider the provider to read the document with
+     * @return {@link Existence#UNKNOWN} if the path has to be evaluated instead
+     */
+    public Existence exists(Object document, JsonProvider jsonProvider) {
+        Object[] steps = steps();
+        if (steps == NOT_CHECKABLE) {
+            return Existence.UNKNOWN;
+        }
+        Object model = document;
+        for (Object step : steps) {
+            if (step instanceof String) {
+                if (!jsonProvider.isMap(model)) {
+                    return Existence.MISSING;
+                }
+                model = jsonProvider.getMapValue(model, (String) step);
+                if (model == JsonProvider.UNDEFINED) {
+                    return Existence.MISSING;
+                }
+            } else {
+                if (model == null || !jsonProvider.isArray(model)) {
+                    return Existence.MISSING;
+                }
+                int index = (Integer) step;
+                try {
+                    model = jsonProvider.getArrayIndex(model, index < 0 ? jsonProvider.length(model) + index : index);
+                } catch (IndexOutOfBoundsException e) {
+                    return Existence.MISSING;
+                }
+            }
+        }
+        return model == JsonProvider.UNDEFINED ? Existence.MISSING : Existence.EXISTS;
+    }
+
+    /**
+     * Reads the value of a path made of single properties and array indexes, like $.a.b[3].c, by walking the
+     * document, without an evaluation context. Missing values are handled as by the evaluation, including
+     * {@link Option#DEFAULT_PATH_LEAF_TO_NULL}, {@link Option#SUPPRESS_EXCEPTIONS} and
+     * {@link Option#REQUIRE_PROPERTIES}. Where the evaluation throws, the path is evaluated to throw the same
+     * exception.
+     * <p>
+     * Configurations with evaluation listeners, {@link Option#AS_PATH_LIST} or
+     * {@link Option#CREATE_MISSING_PROPERTIES_ON_DEFINITE_PATH} need the evaluation.
+     *
+     * @param document the document to read
+     * @param configuration configuration to use
+     * @return the value, {@link #NOT_FOUND} if the evaluation has no result or {@link #EVALUATE} if the path has
+     * to be evaluated
+     */
+    public Object readDefinite(Object document, Configuration configuration) {
+        Object[] steps = steps();
+        if (steps == NOT_CHECKABLE
+                || !configuration.getEvaluationListeners().isEmpty()
+                || configuration.containsOption(Option.AS_PATH_LIST)
+                || configuration.containsOption(Option.CREATE_MISSING_PROPERTIES_ON_DEFINITE_PATH)) {
+            return EVALUATE;
+        }
+        JsonProvider jsonProvider = configuration.jsonProvider();
+        boolean suppressExceptions = configuration.containsOption(Option.SUPPRESS_EXCEPTIONS);
+        Object model = document;
+        for (int i = 0; i < steps.length; i++) {
+            Object step = steps[i];
+            if (step instanceof String) {
+                if (!jsonProvider.isMap(model)) {
+                    return suppressExceptions ? NOT_FOUND : EVALUATE;
+                }
+                model = jsonProvider.getMapValue(model, (String) step);
+                if (model == JsonProvider.UNDEFINED) {
+                    // see PathToken.handleObjectProperty
+                    if (i < steps.length - 1) {
+                        return suppressExceptions ? NOT_FOUND : EVALUATE;
+                    } else if (configuration.containsOption(Option.DEFAULT_PATH_LEAF_TO_NULL)) {
+                        return resultValue(null, jsonProvider);
+                    } else if (suppressExceptions || !configuration.containsOption(Option.REQUIRE_PROPERTIES)) {
+                        return NOT_FOUND;
+                    }
+                    return EVALUATE;
+                }
+            } else {
+                if (model == null || !jsonProvider.isArray(model)) {
+                    return suppressExceptions ? NOT_FOUND : EVALUATE;
+                }
+                int index = (Integer) step;
+                try {
+                    model = jsonProvider.getArrayIndex(model, index < 0 ? jsonProvider.length(model) + index : index);
+                } catch (IndexOutOfBoundsException e) {
+                    return NOT_FOUND;
+                }
+            }
+        }
+        return resultValue(model, jsonProvider);
+    }
+
+    /**
+     * Evaluation results are read back from an array of the provider, which some providers convert values for.
+     * The arrays of the default provider hold values as they are.
+     */
+    private static Object resultValue(Object value, JsonProvider jsonProvider) {
+        if (jsonProvider.getClass() == JsonSmartJsonProvider.class) {
+            return value;
+        }
+        Object array = jsonProvider.createArray();
+        jsonProvider.setArrayIndex(array, 0, value);
+        return jsonProvider.getArrayIndex(array, 0);
+    }
+
+    private Object[] steps() {
+        Object[] result = steps;
+        if (result == null) {
+            List<Object> list = new ArrayList<Object>();
+            PathToken token = root;
+            while (!token.isLeaf() && list != null) {
+                token = token.next();
+                if (token instanceof PropertyPathToken && ((PropertyPathToken) token).singlePropertyCase()) {
+                    list.add(((PropertyPathToken) token).getProperties().get(0));
+                } else if (token instanceof ArrayIndexToken && ((ArrayIndexToken) token).operation().isSingleIndexOperation()) {
+                    list.add(((ArrayIndexToken) token).operation().indexes().get(0));
+                } else {
+                    list = null;
+                }
+            }
+            result = list == null ? NOT_CHECKABLE : list.toArray();
+            steps = result;
+        }
+        return result;
+    }
+
     @Override
     public boolean isDefinite() {
         return root.isPathDefinite();
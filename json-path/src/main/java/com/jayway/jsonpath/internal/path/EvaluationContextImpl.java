@@ -18,16 +18,24 @@ import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.EvaluationListener;
 import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.internal.DocumentIndex;
 import com.jayway.jsonpath.internal.EvaluationAbortException;
 import com.jayway.jsonpath.internal.EvaluationContext;
 import com.jayway.jsonpath.internal.Path;
 import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.internal.ResultHandler;
+import com.jayway.jsonpath.internal.function.ParamType;
+import com.jayway.jsonpath.internal.function.Parameter;
+import com.jayway.jsonpath.internal.function.latebinding.ILateBindingValue;
+import com.jayway.jsonpath.internal.function.latebinding.JsonLateBindingValue;
+import com.jayway.jsonpath.internal.function.latebinding.PathLateBindingValue;
 import com.jayway.jsonpath.spi.json.JsonProvider;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Set;
 
@@ -47,8 +55,16 @@ public class EvaluationContextImpl implements EvaluationContext {
     private final Object rootDocument;
     private final List<PathRef> updateOperations;
     private final HashMap<Path, Object> documentEvalCache = new HashMap<Path, Object>();
+    private IdentityHashMap<Object, Object> filterOperandCache;
+    private IdentityHashMap<PathToken, Integer> upstreamArrayIndexes;
+    private IdentityHashMap<Parameter, ILateBindingValue> lateBindings;
+    private DocumentIndex documentIndex;
+    private boolean functionInvokedOnce;
     private final boolean forUpdate;
     private final boolean suppressExceptions;
+    private final boolean recordPaths;
+    private final ResultHandler resultHandler;
+    private final List<BufferedResult> bufferedResults;
     private int resultIndex = 0;
 
 
@@ -56,7 +72,19 @@ public class EvaluationContextImpl implements EvaluationContext {
         return ((CompiledPath) path).getRoot();
     }
 
+    CompiledPath compiledPath() {
+        return (CompiledPath) path;
+    }
+
     public EvaluationContextImpl(Path path, Object rootDocument, Configuration configuration, boolean forUpdate) {
+        this(path, rootDocument, configuration, forUpdate, true);
+    }
+
+    /**
+     * @param recordPaths if false, result paths are only recorded when required for updates, by
+     *                    {@link Option#AS_PATH_LIST} or by evaluation listeners
+     */
+    public EvaluationContextImpl(Path path, Object rootDocument, Configuration configuration, boolean forUpdate, boolean recordPaths) {
         notNull(path, "path can not be null");
         notNull(rootDocument, "root can not be null");
         notNull(configuration, "configuration can not be null");
@@ -65,28 +93,219 @@ public class EvaluationContextImpl implements EvaluationContext {
         this.rootDocument = rootDocument;
         this.configuration = configuration;
         this.valueResult = configuration.jsonProvider().createArray();
-        this.pathResult = configuration.jsonProvider().createArray();
+        this.recordPaths = recordPaths || forUpdate
+                || configuration.containsOption(Option.AS_PATH_LIST)
+                || !configuration.getEvaluationListeners().isEmpty();
+        this.pathResult = this.recordPaths ? configuration.jsonProvider().createArray() : null;
         this.updateOperations = new ArrayList<>();
         this.suppressExceptions = configuration.containsOption(Option.SUPPRESS_EXCEPTIONS);
+        this.resultHandler = null;
+        this.bufferedResults = null;
+    }
+
+    /**
+     * Creates a context that hands results to the given handler instead of collecting them. Values and paths
+     * of such a context can not be read, it only tells if there were results.
+     *
+     * @param resultHandler handler to receive the results
+     */
+    public EvaluationContextImpl(Path path, Object rootDocument, Configuration configuration, ResultHandler resultHandler) {
+        notNull(path, "path can not be null");
+        notNull(rootDocument, "root can not be null");
+        notNull(configuration, "configuration can not be null");
+        notNull(resultHandler, "resultHandler can not be null");
+        this.forUpdate = false;
+        this.path = path;
+        this.rootDocument = rootDocument;
+        this.configuration = configuration;
+        this.valueResult = null;
+        this.recordPaths = false;
+        this.pathResult = null;
+        this.updateOperations = Collections.emptyList();
+        this.suppressExceptions = configuration.containsOption(Option.SUPPRESS_EXCEPTIONS);
+        this.resultHandler = resultHandler;
+        this.bufferedResults = null;
+    }
+
+    private EvaluationContextImpl(EvaluationContextImpl parent) {
+        this.forUpdate = parent.forUpdate;
+        this.path = parent.path;
+        this.rootDocument = parent.rootDocument;
+        this.configuration = parent.configuration;
+        this.valueResult = null;
+        this.recordPaths = parent.recordPaths;
+        this.pathResult = null;
+        this.updateOperations = Collections.emptyList();
+        this.suppressExceptions = parent.suppressExceptions;
+        this.resultHandler = null;
+        this.bufferedResults = new ArrayList<BufferedResult>();
+        if (parent.upstreamArrayIndexes != null) {
+            this.upstreamArrayIndexes = new IdentityHashMap<PathToken, Integer>(parent.upstreamArrayIndexes);
+        }
+        this.documentIndex = parent.documentIndex;
+    }
+
+    /**
+     * Creates a context for evaluating part of the document on another thread. It keeps its results until they
+     * are added to this context with {@link #join(EvaluationContextImpl)}.
+     *
+     * @return a new context
+     */
+    EvaluationContextImpl fork() {
+        return new EvaluationContextImpl(this);
+    }
+
+    /**
+     * Adds the results of a forked context as if they had been found by this context.
+     *
+     * @param fork context created by {@link #fork()}
+     */
+    void join(EvaluationContextImpl fork) {
+        for (BufferedResult result : fork.bufferedResults) {
+            addResult(result.path, result.operation, result.model);
+        }
     }
 
     public HashMap<Path, Object> documentEvalCache() {
         return documentEvalCache;
     }
 
+    /**
+     * @return filter operands that are the same for every item, like root ($) paths, by the node they were
+     * evaluated from, created on first use
+     */
+    public IdentityHashMap<Object, Object> filterOperandCache() {
+        if (filterOperandCache == null) {
+            filterOperandCache = new IdentityHashMap<Object, Object>();
+        }
+        return filterOperandCache;
+    }
+
+    /**
+     * @return the indexes filters over arrays of the document can be looked up in, null if there are none
+     */
+    public DocumentIndex documentIndex() {
+        return documentIndex;
+    }
+
+    void setDocumentIndex(DocumentIndex documentIndex) {
+        this.documentIndex = documentIndex;
+    }
+
+    /**
+     * Function parameters are bound here rather than on the {@link Parameter}, which is part of the compiled path
+     * and shared between evaluations.
+     */
+    @Override
+    public Object parameterValue(Parameter parameter) {
+        if (lateBindings == null) {
+            lateBindings = new IdentityHashMap<Parameter, ILateBindingValue>();
+        }
+        ILateBindingValue lateBinding = lateBindings.get(parameter);
+        if (lateBinding == null) {
+            if (parameter.getType() == ParamType.PATH) {
+                lateBinding = new PathLateBindingValue(parameter.getPath(), rootDocument, configuration);
+            } else {
+                lateBinding = new JsonLateBindingValue(configuration.jsonProvider(), parameter);
+            }
+            lateBindings.put(parameter, lateBinding);
+        }
+        return lateBinding.get();
+    }
+
+    @Override
+    public boolean isFunctionInvokedOnce() {
+        return functionInvokedOnce;
+    }
+
+    /**
+     * @param functionInvokedOnce if the function about to be invoked runs only once in this evaluation
+     * @return the previous value
+     */
+    boolean setFunctionInvokedOnce(boolean functionInvokedOnce) {
+        boolean previous = this.functionInvokedOnce;
+        this.functionInvokedOnce = functionInvokedOnce;
+        return previous;
+    }
+
     public boolean forUpdate(){
         return forUpdate;
     }
 
-    public void addResult(String path, PathRef operation, Object model) {
+    /**
+     * Records the index of the array element a deep scan is handing to the given token. This is
+     * evaluation state and is kept here so that compiled paths can be shared between threads.
+     *
+     * @param token token about to be evaluated
+     * @param idx index of the array element it is evaluated on
+     */
+    void setUpstreamArrayIndex(PathToken token, int idx) {
+        if (upstreamArrayIndexes == null) {
+            upstreamArrayIndexes = new IdentityHashMap<PathToken, Integer>();
+        }
+        upstreamArrayIndexes.put(token, idx);
+    }
+
+    /**
+     * @param token a path token
+     * @return the array index last recorded for the token or -1 if none was recorded
+     */
+    int upstreamArrayIndex(PathToken token) {
+        if (upstreamArrayIndexes == null) {
+            return -1;
+        }
+        Integer idx = upstreamArrayIndexes.get(token);
+        return idx == null ? -1 : idx;
+    }
+
+    public boolean recordsPaths() {
+        return recordPaths;
+    }
 
+    public void addResult(EvaluationPath evaluationPath, PathRef operation, Object model) {
+
+        if (bufferedResults != null) {
+            bufferedResults.add(new BufferedResult(evaluationPath, operation, model));
+            resultIndex++;
+            return;
+        }
         if(forUpdate) {
             updateOperations.add(operation);
         }
 
+        if (resultHandler != null) {
+            handleResult(evaluationPath, model);
+            return;
+        }
+
         configuration.jsonProvider().setArrayIndex(valueResult, resultIndex, model);
+        if (!recordPaths) {
+            resultIndex++;
+            return;
+        }
+        String path = evaluationPath.toString();
         configuration.jsonProvider().setArrayIndex(pathResult, resultIndex, path);
         resultIndex++;
+        notifyListeners(path, model);
+    }
+
+    private void handleResult(EvaluationPath evaluationPath, Object model) {
+        resultIndex++;
+        // the handler gets the result before a listener can abort, like the results collected by read()
+        boolean proceed = resultHandler.resultFound(evaluationPath, model);
+        notifyListeners(evaluationPath, model);
+        if (!proceed) {
+            throw ABORT_EVALUATION;
+        }
+    }
+
+    private void notifyListeners(EvaluationPath path, Object model) {
+        if(!configuration().getEvaluationListeners().isEmpty()){
+            notifyListeners(path.toString(), model);
+        }
+    }
+
+    private void notifyListeners(String path, Object model) {
         if(!configuration().getEvaluationListeners().isEmpty()){
             int idx = resultIndex - 1;
             for (EvaluationListener listener : configuration().getEvaluationListeners()) {
@@ -98,6 +317,18 @@ public class EvaluationContextImpl implements EvaluationContext {
         }
     }
 
+    private void checkResultsCollected() {
+        if (resultHandler != null || bufferedResults != null) {
+            throw new IllegalStateException("Results of path " + path + " are not collected by this context");
+        }
+    }
+
+    private void checkPathsRecorded() {
+        if (pathResult == null) {
+            throw new IllegalStateException("Result paths of path " + path + " are not recorded by this context");
+        }
+    }
+
 
     public JsonProvider jsonProvider() {
         return configuration.jsonProvider();
@@ -134,6 +365,7 @@ public class EvaluationContextImpl implements EvaluationContext {
     @SuppressWarnings("unchecked")
     @Override
     public <T> T getValue(boolean unwrap) {
+        checkResultsCollected();
         if (path.isDefinite()) {
             if(resultIndex == 0) {
                 if (suppressExceptions) {
@@ -154,19 +386,28 @@ public class EvaluationContextImpl implements EvaluationContext {
     @SuppressWarnings("unchecked")
     @Override
     public <T> T getPath() {
+        checkResultsCollected();
         if(resultIndex == 0) {
             if (suppressExceptions) {
                 return null;
             }
             throw new PathNotFoundException("No results for path: " + path.toString());
         }
+        checkPathsRecorded();
         return (T)pathResult;
     }
 
+    @Override
+    public boolean hasResults() {
+        return resultIndex > 0;
+    }
+
     @Override
     public List<String> getPathList() {
+        checkResultsCollected();
         List<String> res = new ArrayList<String>();
         if(resultIndex > 0){
+            checkPathsRecorded();
             Iterable<?> objects = configuration.jsonProvider().toIterable(pathResult);
             for (Object o : objects) {
                 res.add((String)o);
@@ -175,6 +416,18 @@ public class EvaluationContextImpl implements EvaluationContext {
         return res;
     }
 
+    private static final class BufferedResult {
+        private final EvaluationPath path;
+        private final PathRef operation;
+        private final Object model;
+
+        private BufferedResult(EvaluationPath path, PathRef operation, Object model) {
+            this.path = path;
+            this.operation = operation;
+            this.model = model;
+        }
+    }
+
     private static class FoundResultImpl implements EvaluationListener.FoundResult {
 
         private final int index;
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.internal.Utils;
+
+import java.util.List;
+
+/**
+ * The normalized path of a node visited during evaluation, e.g. <code>$['store']['book'][0]</code>.
+ * <p>
+ * Each instance only holds its own segment and a link to its parent, the string form is built
+ * on first use by {@link #toString()}. Evaluations that never look at result paths therefore
+ * don't pay for string concatenation on every step.
+ */
+public final class EvaluationPath {
+
+    private static final byte ROOT = 0;
+    private static final byte PROPERTY = 1;
+    private static final byte INDEX = 2;
+    private static final byte FRAGMENT = 3;
+
+    private final EvaluationPath parent;
+    private final byte type;
+    private final String segment;
+    private final int index;
+    private String path;
+
+    private EvaluationPath(EvaluationPath parent, byte type, String segment, int index) {
+        this.parent = parent;
+        this.type = type;
+        this.segment = segment;
+        this.index = index;
+        if (type == ROOT) {
+            this.path = segment;
+        }
+    }
+
+    /**
+     * Creates a root path, e.g. <code>$</code> or <code>@</code>
+     *
+     * @param rootToken the root token
+     * @return a new root path
+     */
+    public static EvaluationPath root(String rootToken) {
+        return new EvaluationPath(null, ROOT, rootToken, -1);
+    }
+
+    /**
+     * @param property property name
+     * @return this path extended with <code>['property']</code>
+     */
+    public EvaluationPath property(String property) {
+        return new EvaluationPath(this, PROPERTY, property, -1);
+    }
+
+    /**
+     * @param properties property names
+     * @return this path extended with <code>['a', 'b']</code>
+     */
+    public EvaluationPath properties(List<String> properties) {
+        return new EvaluationPath(this, FRAGMENT, "[" + Utils.join(", ", "'", properties) + "]", -1);
+    }
+
+    /**
+     * @param index array index
+     * @return this path extended with <code>[index]</code>
+     */
+    public EvaluationPath index(int index) {
+        return new EvaluationPath(this, INDEX, null, index);
+    }
+
+    /**
+     * @param fragment a raw path fragment
+     * @return this path extended with the given fragment as is
+     */
+    public EvaluationPath append(String fragment) {
+        return new EvaluationPath(this, FRAGMENT, fragment, -1);
+    }
+
+    @Override
+    public String toString() {
+        String p = path;
+        if (p == null) {
+            StringBuilder sb = new StringBuilder();
+            appendTo(sb);
+            p = sb.toString();
+            path = p;
+        }
+        return p;
+    }
+
+    private void appendTo(StringBuilder sb) {
+        if (path != null) {
+            sb.append(path);
+            return;
+        }
+        parent.appendTo(sb);
+        switch (type) {
+            case PROPERTY:
+                sb.append("['").append(segment).append("']");
+                break;
+            case INDEX:
+                sb.append('[').append(index).append(']');
+                break;
+            default:
+                sb.append(segment);
+                break;
+        }
+    }
+}
@@ -1,12 +1,11 @@
 package com.jayway.jsonpath.internal.path;
 
-import com.jayway.jsonpath.internal.Path;
 import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.internal.function.FunctionInvocation;
+import com.jayway.jsonpath.internal.function.ParamType;
 import com.jayway.jsonpath.internal.function.Parameter;
 import com.jayway.jsonpath.internal.function.PathFunction;
 import com.jayway.jsonpath.internal.function.PathFunctionFactory;
-import com.jayway.jsonpath.internal.function.latebinding.JsonLateBindingValue;
-import com.jayway.jsonpath.internal.function.latebinding.PathLateBindingValue;
 
 import java.util.List;
 
@@ -21,6 +20,7 @@ public class FunctionPathToken extends PathToken {
 
     private final String functionName;
     private final String pathFragment;
+    private final PathFunction pathFunction;
     private List<Parameter> functionParams;
 
     public FunctionPathToken(String pathFragment, List<Parameter> parameters) {
@@ -32,58 +32,50 @@ public class FunctionPathToken extends PathToken {
             functionName = null;
             functionParams = null;
         }
+        // resolved once when the path is compiled, unknown functions fail when evaluated
+        pathFunction = PathFunctionFactory.lookup(functionName);
     }
 
     @Override
-    public void evaluate(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
-        PathFunction pathFunction = PathFunctionFactory.newFunction(functionName);
-        evaluateParameters(currentPath, parent, model, ctx);
-        Object result = pathFunction.invoke(currentPath, parent, model, ctx, functionParams);
-        ctx.addResult(currentPath + "." + functionName, parent, result);
-        cleanWildcardPathToken();
+    public void evaluate(EvaluationPath currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+        PathFunction pathFunction = this.pathFunction != null ? this.pathFunction : PathFunctionFactory.getFunction(functionName);
+        Object result;
+        if (null == functionParams || functionParams.isEmpty()) {
+            result = pathFunction.invoke(currentPath.toString(), parent, model, ctx, functionParams);
+        } else {
+            // a function below a wildcard, a deep scan or a filter is invoked for every item
+            boolean invokedOnce = ctx.setFunctionInvokedOnce(isUpstreamDefinite());
+            try {
+                // lets functions written against the deprecated Parameter.getValue() read their parameters
+                result = FunctionInvocation.invoke(pathFunction, currentPath.toString(), parent, model, ctx, functionParams);
+            } finally {
+                ctx.setFunctionInvokedOnce(invokedOnce);
+            }
+        }
+        ctx.addResult(currentPath.append("." + functionName), parent, result);
         if (!isLeaf()) {
             next().evaluate(currentPath, parent, result, ctx);
         }
     }
 
-    private void cleanWildcardPathToken() {
-        if (null != functionParams && functionParams.size() > 0) {
-            Path path = functionParams.get(0).getPath();
-            if (null != path && !path.isFunctionPath() && path instanceof CompiledPath) {
-                RootPathToken root = ((CompiledPath) path).getRoot();
-                PathToken tail = root.getNext();
-                while (null != tail && null != tail.getNext() ) {
-                    if(tail.getNext() instanceof WildcardPathToken){
-                        tail.setNext(tail.getNext().getNext());
-                        break;
-                    }
-                    tail = tail.getNext();
-                }
-            }
-        }
-    }
-
-    private void evaluateParameters(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
-
+    /**
+     * Path parameters are always evaluated against the root document.
+     */
+    @Override
+    boolean referencesRoot() {
         if (null != functionParams) {
             for (Parameter param : functionParams) {
-                switch (param.getType()) {
-                    case PATH:
-                        PathLateBindingValue pathLateBindingValue = new PathLateBindingValue(param.getPath(), ctx.rootDocument(), ctx.configuration());
-                        if (!param.hasEvaluated()||!pathLateBindingValue.equals(param.getILateBingValue())) {
-                            param.setLateBinding(pathLateBindingValue);
-                            param.setEvaluated(true);
-                        }
-                        break;
-                    case JSON:
-                        if (!param.hasEvaluated()) {
-                            param.setLateBinding(new JsonLateBindingValue(ctx.configuration().jsonProvider(), param));
-                            param.setEvaluated(true);
-                        }
-                        break;
+                if (param.getType() == ParamType.PATH) {
+                    return true;
                 }
             }
         }
+        return false;
+    }
+
+    @Override
+    boolean callsFunctions() {
+        return true;
     }
 
     /**
@@ -113,4 +105,11 @@ public class FunctionPathToken extends PathToken {
     public String getFunctionName() {
         return this.functionName;
     }
+
+    /**
+     * @return the function resolved when the path was compiled, null if there was none of this name
+     */
+    PathFunction getFunction() {
+        return this.pathFunction;
+    }
 }
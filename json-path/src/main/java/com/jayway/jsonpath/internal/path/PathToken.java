@@ -18,7 +18,6 @@ import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.PathNotFoundException;
 import com.jayway.jsonpath.internal.PathRef;
 import com.jayway.jsonpath.spi.json.AbstractJsonProvider;
-import com.jayway.jsonpath.internal.Utils;
 import com.jayway.jsonpath.internal.function.PathFunction;
 import com.jayway.jsonpath.spi.json.JsonProvider;
 
@@ -30,12 +29,6 @@ public abstract class PathToken {
     private PathToken next;
     private Boolean definite = null;
     private Boolean upstreamDefinite = null;
-    private int upstreamArrayIndex = -1;
-
-
-    public void setUpstreamArrayIndex(int idx) {
-        upstreamArrayIndex = idx;
-    }
 
     PathToken appendTailToken(PathToken next) {
         this.next = next;
@@ -43,11 +36,11 @@ public abstract class PathToken {
         return next;
     }
 
-    void handleObjectProperty(String currentPath, Object model, EvaluationContextImpl ctx, List<String> properties) {
+    void handleObjectProperty(EvaluationPath currentPath, Object model, EvaluationContextImpl ctx, List<String> properties) {
 
         if (properties.size() == 1) {
             String property = properties.get(0);
-            String evalPath = Utils.concat(currentPath, "['", property, "']");
+            EvaluationPath evalPath = currentPath.property(property);
             Object propertyVal = readObjectProperty(property, model, ctx);
             if (propertyVal == JsonProvider.UNDEFINED) {
                 // Conditions below heavily depend on current token type (and its logic) and are not "universal",
@@ -89,8 +82,9 @@ public abstract class PathToken {
             }
             PathRef pathRef = ctx.forUpdate() ? PathRef.create(model, property) : PathRef.NO_OP;
             if (isLeaf()) {
-                String idx = "[" + String.valueOf(upstreamArrayIndex) + "]";
-                if (idx.equals("[-1]") || ctx.getRoot().getTail().prev().getPathFragment().equals(idx)) {
+                int upstreamArrayIndex = ctx.upstreamArrayIndex(this);
+                if (upstreamArrayIndex == -1
+                        || ctx.getRoot().getTail().prev().getPathFragment().equals("[" + upstreamArrayIndex + "]")) {
                     ctx.addResult(evalPath, pathRef, propertyVal);
                 }
             } else {
@@ -107,7 +101,7 @@ public abstract class PathToken {
                 next().evaluate(evalPath, pathRef, propertyVal, ctx);
             }
         } else {
-            String evalPath = currentPath + "[" + Utils.join(", ", "'", properties) + "]";
+            EvaluationPath evalPath = currentPath.properties(properties);
 
             assert isLeaf() : "non-leaf multi props handled elsewhere";
 
@@ -148,8 +142,8 @@ public abstract class PathToken {
     }
 
 
-    protected void handleArrayIndex(int index, String currentPath, Object model, EvaluationContextImpl ctx) {
-        String evalPath = Utils.concat(currentPath, "[", String.valueOf(index), "]");
+    protected void handleArrayIndex(int index, EvaluationPath currentPath, Object model, EvaluationContextImpl ctx) {
+        EvaluationPath evalPath = currentPath.index(index);
         PathRef pathRef = ctx.forUpdate() ? PathRef.create(model, index) : PathRef.NO_OP;
         int effectiveIndex = index < 0 ? ctx.jsonProvider().length(model) + index : index;
         try {
@@ -257,11 +251,25 @@ public abstract class PathToken {
         return super.equals(obj);
     }
 
-    public void invoke(PathFunction pathFunction, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
-        ctx.addResult(currentPath, parent, pathFunction.invoke(currentPath, parent, model, ctx, null));
+    public void invoke(PathFunction pathFunction, EvaluationPath currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+        ctx.addResult(currentPath, parent, pathFunction.invoke(currentPath.toString(), parent, model, ctx, null));
     }
 
-    public abstract void evaluate(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx);
+    public abstract void evaluate(EvaluationPath currentPath, PathRef parent, Object model, EvaluationContextImpl ctx);
+
+    /**
+     * @return true if evaluating this token might read the root document ($)
+     */
+    boolean referencesRoot() {
+        return false;
+    }
+
+    /**
+     * @return true if evaluating this token might call path functions
+     */
+    boolean callsFunctions() {
+        return false;
+    }
 
     public abstract boolean isTokenDefinite();
 
@@ -22,6 +22,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 public class PredicateContextImpl implements Predicate.PredicateContext {
 
@@ -31,12 +33,32 @@ public class PredicateContextImpl implements Predicate.PredicateContext {
     private final Object rootDocument;
     private final Configuration configuration;
     private final HashMap<Path, Object> documentPathCache;
+    private final EvaluationContextImpl evaluationContext;
+    private Map<Object, Object> operandCache;
 
     public PredicateContextImpl(Object contextDocument, Object rootDocument, Configuration configuration, HashMap<Path, Object> documentPathCache) {
+        this(contextDocument, rootDocument, configuration, documentPathCache, null);
+    }
+
+    public PredicateContextImpl(Object contextDocument, Object rootDocument, Configuration configuration, HashMap<Path, Object> documentPathCache, Map<Object, Object> operandCache) {
         this.contextDocument = contextDocument;
         this.rootDocument = rootDocument;
         this.configuration = configuration;
         this.documentPathCache = documentPathCache;
+        this.operandCache = operandCache;
+        this.evaluationContext = null;
+    }
+
+    /**
+     * Creates the context of a filter applied while evaluating a path. It uses the caches of the evaluation, the
+     * operand cache is only looked up when a filter needs it.
+     */
+    PredicateContextImpl(Object contextDocument, Object rootDocument, Configuration configuration, EvaluationContextImpl evaluationContext) {
+        this.contextDocument = contextDocument;
+        this.rootDocument = rootDocument;
+        this.configuration = configuration;
+        this.documentPathCache = evaluationContext.documentEvalCache();
+        this.evaluationContext = evaluationContext;
     }
 
     public Object evaluate(Path path){
@@ -46,11 +68,11 @@ public class PredicateContextImpl implements Predicate.PredicateContext {
                 logger.debug("Using cached result for root path: " + path.toString());
                 result = documentPathCache.get(path);
             } else {
-                result = path.evaluate(rootDocument, rootDocument, configuration).getValue();
+                result = path.evaluateValues(rootDocument, rootDocument, configuration).getValue();
                 documentPathCache.put(path, result);
             }
         } else {
-            result = path.evaluate(contextDocument, rootDocument, configuration).getValue();
+            result = path.evaluateValues(contextDocument, rootDocument, configuration).getValue();
         }
         return result;
     }
@@ -59,6 +81,17 @@ public class PredicateContextImpl implements Predicate.PredicateContext {
         return documentPathCache;
     }
 
+    /**
+     * @return filter operands that are the same for every item of the evaluation, like the values of root ($)
+     * paths, by the filter node they were evaluated from
+     */
+    public Map<Object, Object> operandCache() {
+        if (operandCache == null) {
+            operandCache = evaluationContext != null ? evaluationContext.filterOperandCache() : new IdentityHashMap<Object, Object>();
+        }
+        return operandCache;
+    }
+
     @Override
     public Object item() {
         return contextDocument;
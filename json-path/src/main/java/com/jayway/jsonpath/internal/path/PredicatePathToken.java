@@ -18,7 +18,9 @@ import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.Predicate;
 import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.internal.filter.FilterCompiler;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 
@@ -42,7 +44,7 @@ public class PredicatePathToken extends PathToken {
     }
 
     @Override
-    public void evaluate(String currentPath, PathRef ref, Object model, EvaluationContextImpl ctx) {
+    public void evaluate(EvaluationPath currentPath, PathRef ref, Object model, EvaluationContextImpl ctx) {
         if (ctx.jsonProvider().isMap(model)) {
             if (accept(model, ctx.rootDocument(), ctx.configuration(), ctx)) {
                 PathRef op = ctx.forUpdate() ? ref : PathRef.NO_OP;
@@ -53,6 +55,15 @@ public class PredicatePathToken extends PathToken {
                 }
             }
         } else if (ctx.jsonProvider().isArray(model)){
+            BitSet candidates = ctx.documentIndex() != null ? ctx.documentIndex().candidates(model, predicates, ctx.jsonProvider()) : null;
+            if (candidates != null) {
+                for (int idx = candidates.nextSetBit(0); idx >= 0; idx = candidates.nextSetBit(idx + 1)) {
+                    if (accept(ctx.jsonProvider().getArrayIndex(model, idx), ctx.rootDocument(), ctx.configuration(), ctx)) {
+                        handleArrayIndex(idx, currentPath, model, ctx);
+                    }
+                }
+                return;
+            }
             int idx = 0;
             Iterable<?> objects = ctx.jsonProvider().toIterable(model);
 
@@ -70,7 +81,7 @@ public class PredicatePathToken extends PathToken {
     }
 
     public boolean accept(final Object obj, final Object root, final Configuration configuration, EvaluationContextImpl evaluationContext) {
-        Predicate.PredicateContext ctx = new PredicateContextImpl(obj, root, configuration, evaluationContext.documentEvalCache());
+        Predicate.PredicateContext ctx = new PredicateContextImpl(obj, root, configuration, evaluationContext);
 
         for (Predicate predicate : predicates) {
             try {
@@ -84,6 +95,26 @@ public class PredicatePathToken extends PathToken {
         return true;
     }
 
+    @Override
+    boolean referencesRoot() {
+        for (Predicate predicate : predicates) {
+            if (FilterCompiler.referencesRoot(predicate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    boolean callsFunctions() {
+        for (Predicate predicate : predicates) {
+            if (FilterCompiler.callsFunctions(predicate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public String getPathFragment() {
         StringBuilder sb = new StringBuilder();
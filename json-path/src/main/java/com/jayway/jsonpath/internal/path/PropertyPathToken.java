@@ -59,7 +59,7 @@ public class PropertyPathToken extends PathToken {
     }
 
     @Override
-    public void evaluate(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void evaluate(EvaluationPath currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
         // Can't assert it in ctor because isLeaf() could be changed later on.
         assert onlyOneIsTrueNonThrow(singlePropertyCase(), multiPropertyMergeCase(), multiPropertyIterationCase());
 
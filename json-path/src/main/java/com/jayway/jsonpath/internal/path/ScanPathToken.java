@@ -18,33 +18,61 @@ import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.internal.PathRef;
 import com.jayway.jsonpath.spi.json.JsonProvider;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 /**
  *
  */
 public class ScanPathToken extends PathToken {
 
+    /**
+     * Arrays and objects with fewer elements are walked sequentially by {@link Option#PARALLEL_DEEP_SCAN}
+     */
+    static final int PARALLEL_THRESHOLD = 1024;
+
     ScanPathToken() {
     }
 
     @Override
-    public void evaluate(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void evaluate(EvaluationPath currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
 
         PathToken pt = next();
 
-        walk(pt, currentPath, parent,  model, ctx, createScanPredicate(pt, ctx));
+        walk(pt, currentPath, parent,  model, ctx, createScanPredicate(pt, ctx), isParallel(ctx));
+    }
+
+    private boolean isParallel(EvaluationContextImpl ctx) {
+        if (!ctx.options().contains(Option.PARALLEL_DEEP_SCAN)
+                || ctx.forUpdate()
+                || ctx.options().contains(Option.CREATE_MISSING_PROPERTIES_ON_DEFINITE_PATH)) {
+            return false;
+        }
+        // custom functions and predicates need not be thread safe, scans calling them are walked on the calling thread
+        return ctx.compiledPath().parallelScans();
+    }
+
+    public static void walk(PathToken pt, EvaluationPath currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
+        walk(pt, currentPath, parent, model, ctx, predicate, false);
     }
 
-    public static void walk(PathToken pt, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
+    private static void walk(PathToken pt, EvaluationPath currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate, boolean parallel) {
         if (ctx.jsonProvider().isMap(model)) {
-            walkObject(pt, currentPath, parent, model, ctx, predicate);
+            walkObject(pt, currentPath, parent, model, ctx, predicate, parallel);
         } else if (ctx.jsonProvider().isArray(model)) {
-            walkArray(pt, currentPath, parent, model, ctx, predicate);
+            walkArray(pt, currentPath, parent, model, ctx, predicate, parallel);
         }
     }
 
-    public static void walkArray(PathToken pt, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
+    public static void walkArray(PathToken pt, EvaluationPath currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
+        walkArray(pt, currentPath, parent, model, ctx, predicate, false);
+    }
+
+    private static void walkArray(PathToken pt, EvaluationPath currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate, boolean parallel) {
 
         if (predicate.matches(model)) {
             if (pt.isLeaf()) {
@@ -54,39 +82,75 @@ public class ScanPathToken extends PathToken {
                 Iterable<?> models = ctx.jsonProvider().toIterable(model);
                 int idx = 0;
                 for (Object evalModel : models) {
-                    String evalPath = currentPath + "[" + idx + "]";
-                    next.setUpstreamArrayIndex(idx);
+                    EvaluationPath evalPath = currentPath.index(idx);
+                    ctx.setUpstreamArrayIndex(next, idx);
                     next.evaluate(evalPath, parent, evalModel, ctx);
                     idx++;
                 }
             }
         }
 
+        if (parallel && ctx.jsonProvider().length(model) >= PARALLEL_THRESHOLD) {
+            List<Object> elements = new ArrayList<Object>(ctx.jsonProvider().length(model));
+            for (Object evalModel : ctx.jsonProvider().toIterable(model)) {
+                elements.add(evalModel);
+            }
+            walkInParallel(new ParallelWalk(pt, currentPath, model, null, elements, ctx));
+            return;
+        }
+
         Iterable<?> models = ctx.jsonProvider().toIterable(model);
         int idx = 0;
         for (Object evalModel : models) {
-            String evalPath = currentPath + "[" + idx + "]";
-            walk(pt, evalPath, PathRef.create(model, idx), evalModel, ctx, predicate);
+            EvaluationPath evalPath = currentPath.index(idx);
+            walk(pt, evalPath, PathRef.create(model, idx), evalModel, ctx, predicate, parallel);
             idx++;
         }
     }
 
-    public static void walkObject(PathToken pt, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
+    public static void walkObject(PathToken pt, EvaluationPath currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
+        walkObject(pt, currentPath, parent, model, ctx, predicate, false);
+    }
+
+    private static void walkObject(PathToken pt, EvaluationPath currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate, boolean parallel) {
 
         if (predicate.matches(model)) {
             pt.evaluate(currentPath, parent, model, ctx);
         }
         Collection<String> properties = ctx.jsonProvider().getPropertyKeys(model);
 
+        if (parallel && properties.size() >= PARALLEL_THRESHOLD) {
+            List<String> names = new ArrayList<String>(properties.size());
+            List<Object> values = new ArrayList<Object>(properties.size());
+            for (String property : properties) {
+                Object propertyModel = ctx.jsonProvider().getMapValue(model, property);
+                if (propertyModel != JsonProvider.UNDEFINED) {
+                    names.add(property);
+                    values.add(propertyModel);
+                }
+            }
+            walkInParallel(new ParallelWalk(pt, currentPath, model, names, values, ctx));
+            return;
+        }
+
         for (String property : properties) {
-            String evalPath = currentPath + "['" + property + "']";
+            EvaluationPath evalPath = currentPath.property(property);
             Object propertyModel = ctx.jsonProvider().getMapValue(model, property);
             if (propertyModel != JsonProvider.UNDEFINED) {
-                walk(pt, evalPath, PathRef.create(model, property), propertyModel, ctx, predicate);
+                walk(pt, evalPath, PathRef.create(model, property), propertyModel, ctx, predicate, parallel);
             }
         }
     }
 
+    private static void walkInParallel(ParallelWalk walk) {
+        if (ForkJoinTask.inForkJoinPool()) {
+            walk.invoke();
+        } else {
+            ForkJoinPool.commonPool().invoke(walk);
+        }
+        walk.addResults();
+    }
+
     private static Predicate createScanPredicate(final PathToken target, final EvaluationContextImpl ctx) {
         if (target instanceof PropertyPathToken) {
             return new PropertyPathTokenPredicate(target, ctx);
@@ -112,6 +176,94 @@ public class ScanPathToken extends PathToken {
         return "..";
     }
 
+    /**
+     * Walks the elements of an array or the property values of an object in chunks, each chunk with its own
+     * forked {@link EvaluationContextImpl}. The results of the chunks are added to the context in document order.
+     */
+    private static final class ParallelWalk extends RecursiveAction {
+        private final PathToken pt;
+        private final EvaluationPath currentPath;
+        private final Object model;
+        /**
+         * Property names, null if the model is an array
+         */
+        private final List<String> properties;
+        private final List<Object> values;
+        private final EvaluationContextImpl ctx;
+        private final List<Chunk> chunks = new ArrayList<Chunk>();
+
+        private ParallelWalk(PathToken pt, EvaluationPath currentPath, Object model, List<String> properties, List<Object> values, EvaluationContextImpl ctx) {
+            this.pt = pt;
+            this.currentPath = currentPath;
+            this.model = model;
+            this.properties = properties;
+            this.values = values;
+            this.ctx = ctx;
+        }
+
+        @Override
+        protected void compute() {
+            int size = values.size();
+            int chunkSize = Math.max(1, size / (4 * ForkJoinPool.getCommonPoolParallelism()));
+            for (int from = 0; from < size; from += chunkSize) {
+                chunks.add(new Chunk(this, from, Math.min(from + chunkSize, size)));
+            }
+            invokeAll(chunks);
+        }
+
+        /**
+         * Adds the results of all chunks to the context. Stops at the first chunk that failed and throws
+         * its exception, as a sequential walk would have.
+         */
+        private void addResults() {
+            for (Chunk chunk : chunks) {
+                if (chunk.failure != null) {
+                    throw chunk.failure;
+                }
+                ctx.join(chunk.ctx);
+            }
+        }
+    }
+
+    private static final class Chunk extends RecursiveAction {
+        private final ParallelWalk walk;
+        private final int from;
+        private final int to;
+        private final EvaluationContextImpl ctx;
+        private RuntimeException failure;
+
+        private Chunk(ParallelWalk walk, int from, int to) {
+            this.walk = walk;
+            this.from = from;
+            this.to = to;
+            this.ctx = walk.ctx.fork();
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                // scan predicates may use the context, each chunk has its own
+                Predicate predicate = createScanPredicate(walk.pt, ctx);
+                for (int i = from; i < to; i++) {
+                    EvaluationPath evalPath;
+                    PathRef pathRef;
+                    if (walk.properties == null) {
+                        evalPath = walk.currentPath.index(i);
+                        pathRef = PathRef.create(walk.model, i);
+                    } else {
+                        String property = walk.properties.get(i);
+                        evalPath = walk.currentPath.property(property);
+                        pathRef = PathRef.create(walk.model, property);
+                    }
+                    walk(walk.pt, evalPath, pathRef, walk.values.get(i), ctx, predicate, true);
+                }
+            } catch (RuntimeException e) {
+                // kept as is, joining a task would rethrow a copy
+                failure = e;
+            }
+        }
+    }
+
     private interface Predicate {
         boolean matches(Object model);
     }
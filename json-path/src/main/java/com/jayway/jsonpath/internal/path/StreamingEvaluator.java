@@ -0,0 +1,341 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.internal.EvaluationAbortException;
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.JsonTokenizer;
+import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Evaluates a path while reading the document from a {@link JsonTokenizer}.
+ * <p>
+ * Every value in the stream is visited with the list of tokens that still have to be applied to it. Objects
+ * and arrays are descended into token by token as long as the tokens only select properties or array
+ * elements. A value is only parsed with the configured {@link JsonProvider} when it is a result or when a
+ * token needs to see all of it, a filter for example. The rest of the path is then evaluated on the parsed
+ * value as usual. Values no token applies to are skipped.
+ * <p>
+ * Results are reported in document order, which differs from {@link CompiledPath#evaluate} for deep scans
+ * and for index lists that are not ascending.
+ */
+final class StreamingEvaluator {
+
+    /**
+     * State of a value that is a result.
+     */
+    private static final Object RESULT = new Object();
+
+    private final CompiledPath path;
+    private final Configuration configuration;
+    private final JsonProvider jsonProvider;
+    private final EvaluationContextImpl ctx;
+    private final boolean definite;
+    private final boolean defaultLeafToNull;
+    private final boolean suppressExceptions;
+    private JsonTokenizer tokenizer;
+    private boolean done;
+
+    StreamingEvaluator(CompiledPath path, Configuration configuration) {
+        if (!isStreamable(path.getRoot(), configuration)) {
+            throw new UnsupportedOperationException("Path " + path + " can not be evaluated on a stream");
+        }
+        this.path = path;
+        this.configuration = configuration;
+        this.jsonProvider = configuration.jsonProvider();
+        // The root document is never parsed, streamable paths do not read it.
+        this.ctx = new EvaluationContextImpl(path, JsonProvider.UNDEFINED, configuration, false, false);
+        this.definite = path.isDefinite();
+        this.defaultLeafToNull = configuration.containsOption(Option.DEFAULT_PATH_LEAF_TO_NULL);
+        this.suppressExceptions = configuration.containsOption(Option.SUPPRESS_EXCEPTIONS);
+    }
+
+    static boolean isStreamable(RootPathToken root, Configuration configuration) {
+        if (configuration.containsOption(Option.REQUIRE_PROPERTIES)
+                || configuration.containsOption(Option.CREATE_MISSING_PROPERTIES_ON_DEFINITE_PATH)) {
+            return false;
+        }
+        PathToken token = root;
+        while (!token.isLeaf()) {
+            token = token.next();
+            if (token instanceof FunctionPathToken || token.referencesRoot()) {
+                return false;
+            }
+            if (token instanceof ScanPathToken) {
+                // a deep scan must be able to tell from the name of a property or the index of an element
+                // if the token it is followed by applies to it
+                if (token.isLeaf()) {
+                    return false;
+                }
+                PathToken target = token.next();
+                if (target instanceof PropertyPathToken) {
+                    if (!((PropertyPathToken) target).singlePropertyCase()
+                            || target.isLeaf() && configuration.containsOption(Option.DEFAULT_PATH_LEAF_TO_NULL)) {
+                        return false;
+                    }
+                } else if (target instanceof ArrayPathToken) {
+                    if (!target.isLeaf()) {
+                        return false;
+                    }
+                } else if (!(target instanceof WildcardPathToken)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    EvaluationContext evaluate(JsonTokenizer tokenizer) throws IOException {
+        this.tokenizer = tokenizer;
+        RootPathToken root = path.getRoot();
+        try {
+            Object state = root.isLeaf() ? RESULT : root.next();
+            value(Collections.singletonList(state), EvaluationPath.root(root.getPathFragment()));
+            if (!done) {
+                // fails on trailing content
+                tokenizer.peek();
+            }
+        } catch (EvaluationAbortException abort) {
+        }
+        return ctx;
+    }
+
+    private void value(List<Object> states, EvaluationPath currentPath) throws IOException {
+        if (states.isEmpty()) {
+            tokenizer.skipValue();
+            return;
+        }
+        JsonTokenizer.Token token = tokenizer.peek();
+        if (token == JsonTokenizer.Token.BEGIN_OBJECT && !needsObject(states)) {
+            object(states, currentPath);
+        } else if (token == JsonTokenizer.Token.BEGIN_ARRAY && !needsArray(states)) {
+            array(states, currentPath);
+        } else {
+            evaluate(states, currentPath, parse(tokenizer.nextValueText()));
+        }
+    }
+
+    private void object(List<Object> states, EvaluationPath currentPath) throws IOException {
+        tokenizer.beginObject();
+        boolean[] found = new boolean[states.size()];
+        List<Object> next = new ArrayList<Object>(states.size() + 1);
+        while (tokenizer.hasNext()) {
+            String property = tokenizer.nextName();
+            next.clear();
+            for (int i = 0; i < states.size(); i++) {
+                found[i] |= propertyTransitions(states.get(i), property, next);
+            }
+            value(next, next.isEmpty() ? currentPath : currentPath.property(property));
+            if (done) {
+                return;
+            }
+        }
+        tokenizer.endObject();
+        for (int i = 0; i < states.size(); i++) {
+            Object state = states.get(i);
+            if (!found[i] && state instanceof PropertyPathToken && !((PathToken) state).isLeaf()
+                    && ((PathToken) state).isTokenDefinite() && rejects((PathToken) state)) {
+                // the same error as the token throws for a missing property
+                String property = ((PropertyPathToken) state).getProperties().get(0);
+                throw new PathNotFoundException("Missing property in path " + currentPath.property(property));
+            }
+        }
+    }
+
+    private void array(List<Object> states, EvaluationPath currentPath) throws IOException {
+        tokenizer.beginArray();
+        List<Object> next = new ArrayList<Object>(states.size() + 1);
+        int idx = 0;
+        while (tokenizer.hasNext()) {
+            next.clear();
+            for (Object state : states) {
+                elementTransitions(state, idx, next);
+            }
+            value(next, next.isEmpty() ? currentPath : currentPath.index(idx));
+            if (done) {
+                return;
+            }
+            idx++;
+        }
+        tokenizer.endArray();
+    }
+
+    /**
+     * Adds the states of the value of the given property.
+     *
+     * @return true if the state selects the property
+     */
+    private boolean propertyTransitions(Object state, String property, List<Object> next) {
+        if (state instanceof PropertyPathToken) {
+            if (((PropertyPathToken) state).getProperties().get(0).equals(property)) {
+                advance((PathToken) state, next);
+                return true;
+            }
+        } else if (state instanceof WildcardPathToken) {
+            advance((PathToken) state, next);
+        } else if (state instanceof ScanPathToken) {
+            PathToken target = ((PathToken) state).next();
+            if (!(target instanceof ArrayPathToken)) {
+                propertyTransitions(target, property, next);
+            }
+            next.add(state);
+        }
+        return false;
+    }
+
+    /**
+     * Adds the states of the array element at the given index.
+     */
+    private void elementTransitions(Object state, int idx, List<Object> next) {
+        if (state instanceof ArrayIndexToken) {
+            if (((ArrayIndexToken) state).operation().indexes().contains(idx)) {
+                advance((PathToken) state, next);
+            }
+        } else if (state instanceof ArraySliceToken) {
+            ArraySliceOperation operation = ((ArraySliceToken) state).operation();
+            if ((operation.from() == null || idx >= operation.from()) && (operation.to() == null || idx < operation.to())) {
+                advance((PathToken) state, next);
+            }
+        } else if (state instanceof WildcardPathToken) {
+            advance((PathToken) state, next);
+        } else if (state instanceof PredicatePathToken) {
+            next.add(new FilteredElement((PredicatePathToken) state));
+        } else if (state instanceof ScanPathToken) {
+            PathToken target = ((PathToken) state).next();
+            if (!(target instanceof PropertyPathToken)) {
+                elementTransitions(target, idx, next);
+            }
+            next.add(state);
+        }
+    }
+
+    private static void advance(PathToken token, List<Object> next) {
+        next.add(token.isLeaf() ? RESULT : token.next());
+    }
+
+    private boolean needsObject(List<Object> states) {
+        for (Object state : states) {
+            if (state == RESULT || state instanceof FilteredElement || state instanceof PredicatePathToken) {
+                return true;
+            }
+            if (state instanceof ArrayPathToken && rejects((PathToken) state)) {
+                return true;
+            }
+            if (state instanceof PropertyPathToken) {
+                PropertyPathToken token = (PropertyPathToken) state;
+                if (!token.singlePropertyCase() || token.isLeaf() && defaultLeafToNull) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean needsArray(List<Object> states) {
+        for (Object state : states) {
+            if (state == RESULT || state instanceof FilteredElement
+                    || state instanceof PropertyPathToken && rejects((PathToken) state)) {
+                return true;
+            }
+            if (state instanceof ScanPathToken) {
+                state = ((PathToken) state).next();
+            }
+            if (state instanceof ArrayPathToken && !selectsByIndex((ArrayPathToken) state)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the token throws for a value it does not apply to, the value is parsed to be described
+     * in the error
+     */
+    private boolean rejects(PathToken token) {
+        return !suppressExceptions && token.isUpstreamDefinite();
+    }
+
+    /**
+     * @return true if the token selects elements by their index alone, without knowing the array length,
+     * in ascending order
+     */
+    private static boolean selectsByIndex(ArrayPathToken token) {
+        if (token instanceof ArrayIndexToken) {
+            int previous = -1;
+            for (Integer index : ((ArrayIndexToken) token).operation().indexes()) {
+                if (index <= previous) {
+                    return false;
+                }
+                previous = index;
+            }
+            return true;
+        }
+        ArraySliceOperation operation = ((ArraySliceToken) token).operation();
+        return (operation.from() == null || operation.from() >= 0) && (operation.to() == null || operation.to() >= 0);
+    }
+
+    private void evaluate(List<Object> states, EvaluationPath currentPath, Object model) {
+        for (Object state : states) {
+            if (state == RESULT) {
+                ctx.addResult(currentPath, PathRef.NO_OP, model);
+            } else if (state instanceof FilteredElement) {
+                PredicatePathToken filter = ((FilteredElement) state).filter;
+                if (filter.accept(model, ctx.rootDocument(), configuration, ctx)) {
+                    if (filter.isLeaf()) {
+                        ctx.addResult(currentPath, PathRef.NO_OP, model);
+                    } else {
+                        filter.next().evaluate(currentPath, PathRef.NO_OP, model, ctx);
+                    }
+                }
+            } else {
+                ((PathToken) state).evaluate(currentPath, PathRef.NO_OP, model, ctx);
+            }
+            if (definite && ctx.hasResults()) {
+                // a definite path has a single result, no need to read any further
+                done = true;
+                return;
+            }
+        }
+    }
+
+    private Object parse(String json) {
+        char first = json.charAt(0);
+        if (first == '{' || first == '[') {
+            return jsonProvider.parse(json);
+        }
+        // not all providers parse scalar documents
+        return jsonProvider.getArrayIndex(jsonProvider.parse("[" + json + "]"), 0);
+    }
+
+    /**
+     * State of an array element that is only selected if it matches a filter.
+     */
+    private static final class FilteredElement {
+        private final PredicatePathToken filter;
+
+        private FilteredElement(PredicatePathToken filter) {
+            this.filter = filter;
+        }
+    }
+}
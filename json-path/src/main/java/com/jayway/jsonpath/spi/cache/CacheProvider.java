@@ -8,6 +8,17 @@ import static com.jayway.jsonpath.internal.Utils.notNull;
 
 public class CacheProvider {
 
+    /**
+     * System property used to size the default cache, defaults to 400 entries.
+     */
+    public static final String DEFAULT_CACHE_SIZE_PROPERTY = "com.jayway.jsonpath.cache.maximumSize";
+
+    /**
+     * System property enabling statistics on the default cache, defaults to false.
+     */
+    public static final String DEFAULT_CACHE_STATS_PROPERTY = "com.jayway.jsonpath.cache.recordStats";
+    private static final int DEFAULT_CACHE_SIZE = 400;
+
     private static final AtomicReferenceFieldUpdater<CacheProvider, Cache> UPDATER =
         AtomicReferenceFieldUpdater.newUpdater(CacheProvider.class, Cache.class, "cache");
     private static final CacheProvider instance = new CacheProvider();
@@ -20,7 +31,7 @@ public class CacheProvider {
             Cache cache = CacheProvider.instance.cache;
             // the application is trying to use the cache
             // and if no external implementation has been registered,
-            // we need to initialise it to the default LRUCache
+            // we need to initialise it to the default TinyLFUCache
             if (cache == null) {
                 cache = getDefaultCache();
                 // on the off chance that the cache implementation was registered during
@@ -45,9 +56,24 @@ public class CacheProvider {
         return CacheHolder.CACHE;
     }
 
+    /**
+     * Returns a snapshot of the statistics recorded by the cache. If the cache does not
+     * record statistics an empty snapshot is returned.
+     *
+     * @return cache statistics
+     */
+    public static CacheStats getCacheStats() {
+        Cache cache = getCache();
+        if (cache instanceof StatsCache) {
+            return ((StatsCache) cache).stats();
+        }
+        return CacheStats.empty();
+    }
+
 
     private static Cache getDefaultCache(){
-        return new LRUCache(400);
+        return new TinyLFUCache(Integer.getInteger(DEFAULT_CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE),
+                Boolean.getBoolean(DEFAULT_CACHE_STATS_PROPERTY));
         //return new NOOPCache();
     }
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.spi.cache;
+
+/**
+ * Immutable snapshot of the statistics recorded by a {@link StatsCache}.
+ * <p>
+ * A compilation is counted each time a cache miss in a {@link com.jayway.jsonpath.DocumentContext} caused
+ * a path to be compiled, the compile time is the total time spent doing so in nanoseconds.
+ */
+public final class CacheStats {
+
+    private static final CacheStats EMPTY = new CacheStats(0, 0, 0, 0, 0);
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long compileCount;
+    private final long totalCompileTime;
+
+    public CacheStats(long hitCount, long missCount, long evictionCount, long compileCount, long totalCompileTime) {
+        if (hitCount < 0 || missCount < 0 || evictionCount < 0 || compileCount < 0 || totalCompileTime < 0) {
+            throw new IllegalArgumentException("Cache statistics can not be negative");
+        }
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.compileCount = compileCount;
+        this.totalCompileTime = totalCompileTime;
+    }
+
+    /**
+     * Returns a snapshot with all counters set to zero
+     *
+     * @return empty statistics
+     */
+    public static CacheStats empty() {
+        return EMPTY;
+    }
+
+    public long hitCount() {
+        return hitCount;
+    }
+
+    public long missCount() {
+        return missCount;
+    }
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * @return the ratio of lookups that were hits, 1.0 if there have been no lookups
+     */
+    public double hitRate() {
+        long requestCount = requestCount();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * @return the ratio of lookups that were misses, 0.0 if there have been no lookups
+     */
+    public double missRate() {
+        long requestCount = requestCount();
+        return requestCount == 0 ? 0.0 : (double) missCount / requestCount;
+    }
+
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    public long compileCount() {
+        return compileCount;
+    }
+
+    /**
+     * @return total time spent compiling paths after a cache miss, in nanoseconds
+     */
+    public long totalCompileTime() {
+        return totalCompileTime;
+    }
+
+    /**
+     * @return average time spent compiling a path after a cache miss, in nanoseconds
+     */
+    public double averageCompileTime() {
+        return compileCount == 0 ? 0.0 : (double) totalCompileTime / compileCount;
+    }
+
+    /**
+     * Returns the difference between this snapshot and an earlier one, useful when exporting rates
+     *
+     * @param other an earlier snapshot
+     * @return the statistics recorded in between the two snapshots
+     */
+    public CacheStats minus(CacheStats other) {
+        return new CacheStats(
+                Math.max(0, hitCount - other.hitCount),
+                Math.max(0, missCount - other.missCount),
+                Math.max(0, evictionCount - other.evictionCount),
+                Math.max(0, compileCount - other.compileCount),
+                Math.max(0, totalCompileTime - other.totalCompileTime));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CacheStats that = (CacheStats) o;
+        return hitCount == that.hitCount &&
+                missCount == that.missCount &&
+                evictionCount == that.evictionCount &&
+                compileCount == that.compileCount &&
+                totalCompileTime == that.totalCompileTime;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(hitCount);
+        result = 31 * result + Long.hashCode(missCount);
+        result = 31 * result + Long.hashCode(evictionCount);
+        result = 31 * result + Long.hashCode(compileCount);
+        result = 31 * result + Long.hashCode(totalCompileTime);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", compileCount=" + compileCount +
+                ", totalCompileTime=" + totalCompileTime +
+                '}';
+    }
+}
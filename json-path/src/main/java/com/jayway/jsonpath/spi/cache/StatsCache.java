@@ -0,0 +1,46 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.spi.cache;
+
+/**
+ * A {@link Cache} that can record statistics about how well it performs.
+ * <p>
+ * Implementations count hits, misses and evictions themselves. Compile time is reported back by the
+ * caller through {@link #recordCompilation(long)} since the cache does not compile paths itself.
+ */
+public interface StatsCache extends Cache {
+
+    /**
+     * Returns true if this cache records statistics. When false, {@link #stats()} always returns
+     * {@link CacheStats#empty()} and callers may skip timing compilations.
+     *
+     * @return true if statistics are recorded
+     */
+    boolean isRecordingStats();
+
+    /**
+     * Records the time spent compiling a path that was not found in the cache
+     *
+     * @param nanos compile time in nanoseconds
+     */
+    void recordCompilation(long nanos);
+
+    /**
+     * Returns a snapshot of the statistics recorded so far
+     *
+     * @return current statistics
+     */
+    CacheStats stats();
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.spi.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention friendly counters backing {@link StatsCache} implementations.
+ */
+final class StatsCounter {
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder compileCount = new LongAdder();
+    private final LongAdder totalCompileTime = new LongAdder();
+
+    void recordHit() {
+        hitCount.increment();
+    }
+
+    void recordMiss() {
+        missCount.increment();
+    }
+
+    void recordEviction() {
+        evictionCount.increment();
+    }
+
+    void recordCompilation(long nanos) {
+        compileCount.increment();
+        totalCompileTime.add(Math.max(0, nanos));
+    }
+
+    CacheStats snapshot() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), compileCount.sum(), totalCompileTime.sum());
+    }
+}
@@ -0,0 +1,475 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.spi.cache;
+
+import com.jayway.jsonpath.JsonPath;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.jayway.jsonpath.internal.Utils.isTrue;
+import static com.jayway.jsonpath.internal.Utils.notNull;
+
+/**
+ * A bounded, thread safe cache using the W-TinyLFU eviction policy.
+ * <p>
+ * Lookups go straight to a {@link ConcurrentHashMap} and only record the access in a lossy, striped buffer.
+ * Additions and removals are queued in a write buffer as well. The buffers are replayed against the eviction
+ * policy by whichever thread manages to acquire the eviction lock, readers never wait for it and writers only
+ * wait once too many writes are pending. New entries enter a small LRU admission window; entries leaving the window
+ * are only admitted to the main segmented LRU region if they have been used more often than the entry they
+ * would replace. This keeps one-off paths from flushing frequently used ones.
+ * <p>
+ * Statistics are only recorded when enabled through {@link #TinyLFUCache(int, boolean)}.
+ */
+public class TinyLFUCache implements StatsCache {
+
+    private static final int READ_BUFFER_SIZE = 64;
+    private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+    private static final int READ_BUFFER_DRAIN_THRESHOLD = READ_BUFFER_SIZE / 2;
+
+    /**
+     * Writers wait for the eviction lock once this many writes are pending, so that the cache can not grow
+     * without bound while another thread holds the lock
+     */
+    private static final int WRITE_BUFFER_MAXIMUM = 128;
+
+    private static final int NUMBER_OF_READ_BUFFERS =
+            FrequencySketch.ceilingPowerOfTwo(Runtime.getRuntime().availableProcessors());
+
+    private final ConcurrentHashMap<String, Node> map;
+    private final ReadBuffer[] readBuffers;
+    private final Queue<Runnable> writeBuffer = new ConcurrentLinkedQueue<Runnable>();
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final int maximumSize;
+    private final int maximumWindowSize;
+    private final int maximumProtectedSize;
+    private final StatsCounter statsCounter;
+
+    // guarded by evictionLock
+    private final FrequencySketch sketch;
+    private final AccessOrderDeque window = new AccessOrderDeque();
+    private final AccessOrderDeque probation = new AccessOrderDeque();
+    private final AccessOrderDeque protectedSegment = new AccessOrderDeque();
+    private int windowSize;
+    private int protectedSize;
+    private int size;
+
+    public TinyLFUCache(int maximumSize) {
+        this(maximumSize, false);
+    }
+
+    public TinyLFUCache(int maximumSize, boolean recordStats) {
+        isTrue(maximumSize > 0, "maximumSize must be greater than zero");
+        this.maximumSize = maximumSize;
+        this.maximumWindowSize = Math.max(1, maximumSize / 100);
+        this.maximumProtectedSize = (int) ((maximumSize - maximumWindowSize) * 0.8);
+        this.map = new ConcurrentHashMap<String, Node>(FrequencySketch.ceilingPowerOfTwo(Math.min(maximumSize, 1 << 16)));
+        this.sketch = new FrequencySketch(maximumSize);
+        this.statsCounter = recordStats ? new StatsCounter() : null;
+        this.readBuffers = new ReadBuffer[NUMBER_OF_READ_BUFFERS];
+        for (int i = 0; i < readBuffers.length; i++) {
+            readBuffers[i] = new ReadBuffer();
+        }
+    }
+
+    @Override
+    public JsonPath get(String key) {
+        Node node = map.get(key);
+        if (node == null) {
+            if (statsCounter != null) {
+                statsCounter.recordMiss();
+            }
+            return null;
+        }
+        if (statsCounter != null) {
+            statsCounter.recordHit();
+        }
+        afterRead(node);
+        return node.value;
+    }
+
+    @Override
+    public void put(String key, JsonPath value) {
+        notNull(key, "key can not be null");
+        notNull(value, "value can not be null");
+        while (true) {
+            Node node = map.get(key);
+            if (node == null) {
+                Node created = new Node(key, spread(key.hashCode()), value);
+                node = map.putIfAbsent(key, created);
+                if (node == null) {
+                    afterWrite(new AddTask(created));
+                    return;
+                }
+            }
+            node.value = value;
+            if (map.get(key) == node) {
+                afterRead(node);
+                return;
+            }
+            // evicted or removed meanwhile, the value was set on a node that is no longer in the cache
+        }
+    }
+
+    public JsonPath getSilent(String key) {
+        Node node = map.get(key);
+        return node == null ? null : node.value;
+    }
+
+    public void remove(String key) {
+        Node node = map.remove(key);
+        if (node != null) {
+            afterWrite(new RemovalTask(node));
+        }
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public int maximumSize() {
+        return maximumSize;
+    }
+
+    @Override
+    public boolean isRecordingStats() {
+        return statsCounter != null;
+    }
+
+    @Override
+    public void recordCompilation(long nanos) {
+        if (statsCounter != null) {
+            statsCounter.recordCompilation(nanos);
+        }
+    }
+
+    @Override
+    public CacheStats stats() {
+        return statsCounter == null ? CacheStats.empty() : statsCounter.snapshot();
+    }
+
+    @Override
+    public String toString() {
+        return map.keySet().toString();
+    }
+
+    private void afterRead(Node node) {
+        // the identity hash of a thread does not change, Thread.getId() is deprecated
+        ReadBuffer buffer = readBuffers[System.identityHashCode(Thread.currentThread()) & (NUMBER_OF_READ_BUFFERS - 1)];
+        if (buffer.offer(node)) {
+            tryMaintenance();
+        }
+    }
+
+    private void afterWrite(Runnable task) {
+        writeBuffer.add(task);
+        if (pendingWrites.incrementAndGet() < WRITE_BUFFER_MAXIMUM) {
+            tryMaintenance();
+            return;
+        }
+        evictionLock.lock();
+        try {
+            maintenance();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void tryMaintenance() {
+        while (evictionLock.tryLock()) {
+            try {
+                maintenance();
+            } finally {
+                evictionLock.unlock();
+            }
+            // writers that did not get the lock while it was held left their writes to this thread
+            if (writeBuffer.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    // guarded by evictionLock
+    private void maintenance() {
+        for (ReadBuffer buffer : readBuffers) {
+            buffer.drain(this);
+        }
+        Runnable task;
+        while ((task = writeBuffer.poll()) != null) {
+            pendingWrites.decrementAndGet();
+            task.run();
+        }
+        evictEntries();
+    }
+
+    // guarded by evictionLock
+    private void onAccess(Node node) {
+        sketch.increment(node.hash);
+        switch (node.queue) {
+            case Node.WINDOW:
+                window.moveToBack(node);
+                break;
+            case Node.PROBATION:
+                probation.remove(node);
+                node.queue = Node.PROTECTED;
+                protectedSegment.addLast(node);
+                protectedSize++;
+                while (protectedSize > maximumProtectedSize) {
+                    Node demoted = protectedSegment.pollFirst();
+                    protectedSize--;
+                    demoted.queue = Node.PROBATION;
+                    probation.addLast(demoted);
+                }
+                break;
+            case Node.PROTECTED:
+                protectedSegment.moveToBack(node);
+                break;
+            default:
+                // evicted or not yet added
+                break;
+        }
+    }
+
+    // guarded by evictionLock
+    private void evictEntries() {
+        int candidates = 0;
+        while (windowSize > maximumWindowSize) {
+            Node node = window.pollFirst();
+            windowSize--;
+            node.queue = Node.PROBATION;
+            probation.addLast(node);
+            candidates++;
+        }
+        while (size > maximumSize) {
+            Node victim = probation.peekFirst();
+            Node candidate = probation.peekLast();
+            if (victim == null) {
+                victim = protectedSegment.peekFirst() != null ? protectedSegment.peekFirst() : window.peekFirst();
+                evict(victim);
+            } else if (candidates == 0 || victim == candidate) {
+                evict(victim);
+            } else if (sketch.frequency(candidate.hash) > sketch.frequency(victim.hash)) {
+                evict(victim);
+            } else {
+                evict(candidate);
+                candidates--;
+            }
+        }
+    }
+
+    // guarded by evictionLock
+    private void evict(Node node) {
+        unlink(node);
+        map.remove(node.key, node);
+        if (statsCounter != null) {
+            statsCounter.recordEviction();
+        }
+    }
+
+    // guarded by evictionLock
+    private void unlink(Node node) {
+        switch (node.queue) {
+            case Node.WINDOW:
+                window.remove(node);
+                windowSize--;
+                break;
+            case Node.PROBATION:
+                probation.remove(node);
+                break;
+            case Node.PROTECTED:
+                protectedSegment.remove(node);
+                protectedSize--;
+                break;
+            default:
+                return;
+        }
+        node.queue = Node.DEAD;
+        size--;
+    }
+
+    private static int spread(int hashCode) {
+        int h = hashCode * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    private final class AddTask implements Runnable {
+        private final Node node;
+
+        private AddTask(Node node) {
+            this.node = node;
+        }
+
+        @Override
+        public void run() {
+            if (node.queue != Node.NEW) {
+                return;
+            }
+            sketch.increment(node.hash);
+            node.queue = Node.WINDOW;
+            window.addLast(node);
+            windowSize++;
+            size++;
+        }
+    }
+
+    private final class RemovalTask implements Runnable {
+        private final Node node;
+
+        private RemovalTask(Node node) {
+            this.node = node;
+        }
+
+        @Override
+        public void run() {
+            if (node.queue == Node.NEW) {
+                node.queue = Node.DEAD;
+            } else {
+                unlink(node);
+            }
+        }
+    }
+
+    private static final class Node {
+        static final byte NEW = 0;
+        static final byte WINDOW = 1;
+        static final byte PROBATION = 2;
+        static final byte PROTECTED = 3;
+        static final byte DEAD = 4;
+
+        final String key;
+        final int hash;
+        volatile JsonPath value;
+
+        // guarded by evictionLock
+        byte queue = NEW;
+        Node prev;
+        Node next;
+
+        Node(String key, int hash, JsonPath value) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Intrusive doubly linked list ordered from least to most recently used.
+     */
+    private static final class AccessOrderDeque {
+        private Node first;
+        private Node last;
+
+        Node peekFirst() {
+            return first;
+        }
+
+        Node peekLast() {
+            return last;
+        }
+
+        void addLast(Node node) {
+            node.prev = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+
+        Node pollFirst() {
+            Node node = first;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+
+        void moveToBack(Node node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void remove(Node node) {
+            if (node.prev == null) {
+                first = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+    }
+
+    /**
+     * Lossy single consumer ring buffer recording cache hits. When the buffer is full further hits are dropped,
+     * which only costs a little precision in the eviction policy.
+     */
+    private static final class ReadBuffer {
+        private final AtomicReferenceArray<Node> buffer = new AtomicReferenceArray<Node>(READ_BUFFER_SIZE);
+        private final AtomicLong writeCounter = new AtomicLong();
+        private volatile long readCounter;
+
+        /**
+         * @return true if the buffer should be drained
+         */
+        boolean offer(Node node) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            long pending = tail - head;
+            if (pending >= READ_BUFFER_SIZE) {
+                return true;
+            }
+            if (writeCounter.compareAndSet(tail, tail + 1)) {
+                buffer.lazySet((int) (tail & READ_BUFFER_MASK), node);
+                return pending + 1 >= READ_BUFFER_DRAIN_THRESHOLD;
+            }
+            return false;
+        }
+
+        // guarded by evictionLock
+        void drain(TinyLFUCache cache) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            for (; head != tail; head++) {
+                int index = (int) (head & READ_BUFFER_MASK);
+                Node node = buffer.get(index);
+                if (node == null) {
+                    // slot claimed but not yet published, pick it up on the next drain
+                    break;
+                }
+                buffer.lazySet(index, null);
+                cache.onAccess(node);
+            }
+            readCounter = head;
+        }
+    }
+}
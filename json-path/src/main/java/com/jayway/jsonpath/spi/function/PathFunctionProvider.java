@@ -0,0 +1,36 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.spi.function;
+
+import com.jayway.jsonpath.internal.function.PathFunction;
+
+import java.util.Map;
+
+/**
+ * Supplies additional path functions to the function registry.
+ * <p>
+ * Implementations are discovered with {@link java.util.ServiceLoader} by listing them in
+ * {@code META-INF/services/com.jayway.jsonpath.spi.function.PathFunctionProvider}. The returned
+ * functions are shared by all paths and threads, so they must be stateless. A provided function
+ * replaces a built-in function of the same name. See {@link PathFunction} for the API functions are written
+ * against.
+ */
+public interface PathFunctionProvider {
+
+    /**
+     * @return the functions of this provider keyed by the name used to call them in a path
+     */
+    Map<String, PathFunction> getFunctions();
+}
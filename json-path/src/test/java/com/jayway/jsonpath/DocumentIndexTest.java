@@ -0,0 +1,115 @@
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.internal.filter.PropertyIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.jayway.jsonpath.JsonPath.parse;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DocumentIndexTest extends BaseTest {
+
+    private static final String CATALOG = "{\"products\": [" +
+            "{\"sku\": \"a\", \"price\": 10}," +
+            "{\"sku\": \"b\", \"price\": 2.5}," +
+            "{\"sku\": \"1\", \"price\": \"7\"}," +
+            "{\"sku\": 1, \"price\": 7.0}," +
+            "{\"sku\": 1.0, \"price\": null}," +
+            "{\"sku\": true, \"price\": 3}," +
+            "{\"sku\": null, \"price\": 4}," +
+            "{\"price\": 5}," +
+            "{\"sku\": {\"id\": \"a\"}, \"price\": 6}," +
+            "\"a\"," +
+            "{\"sku\": \"a\", \"price\": 1}" +
+            "]}";
+
+    private static final String[] FILTERS = {
+            "@.sku == 'a'", "@.sku == 'x'", "@.sku == '1'", "@.sku == 1", "@.sku == 1.00", "@.sku === 1",
+            "@.sku == true", "@.sku == null", "'a' == @.sku", "@.sku in ['a', 1]", "@.sku in ['b', true, null]",
+            "@.price < 5", "@.price <= 7", "@.price > 2.5", "5 > @.price", "@.sku >= 'a'", "@.sku < 'b'",
+            "@.sku == 'a' && @.price > 5", "@.sku == 'a' || @.price < 3", "@.sku == 'a' || @.price",
+            "@.sku != 'a'", "!(@.sku == 'a')", "@.sku =~ /a/", "@.sku"
+    };
+
+    @Test
+    public void indexed_reads_find_what_unindexed_reads_find() {
+        DocumentContext indexed = parse(CATALOG).index("$.products[*]", "sku").index("$.products[*]", "price");
+        DocumentContext plain = parse(CATALOG);
+
+        for (String filter : FILTERS) {
+            String path = "$.products[?(" + filter + ")]";
+
+            assertThat(indexed.<List<Object>>read(path)).as(path).isEqualTo(plain.<List<Object>>read(path));
+        }
+    }
+
+    @Test
+    public void filters_comparing_the_property_with_literals_are_looked_up() {
+        Object products = parse(CATALOG).read("$.products");
+        Map<String, PropertyIndex> indexes = Collections.singletonMap("sku",
+                PropertyIndex.build(products, "sku", Configuration.defaultConfiguration().jsonProvider()));
+
+        assertThat(candidates("@.sku == 'a'", indexes)).isEqualTo("{0, 7, 8, 9, 10}");
+        assertThat(candidates("@.sku == 1", indexes)).isEqualTo("{2, 3, 4, 7, 8, 9}");
+        assertThat(candidates("@.sku in ['b', null]", indexes)).isEqualTo("{1, 6, 7, 8, 9}");
+        assertThat(candidates("@.sku < 'b'", indexes)).isEqualTo("{0, 2, 7, 8, 9, 10}");
+        assertThat(candidates("@.sku == 'b' && @.price > 3", indexes)).isEqualTo("{1, 7, 8, 9}");
+        assertThat(candidates("@.sku != 'a'", indexes)).isNull();
+        assertThat(candidates("@.sku == 'a' || @.price > 3", indexes)).isNull();
+    }
+
+    private static String candidates(String filter, Map<String, PropertyIndex> indexes) {
+        BitSet candidates = PropertyIndex.candidates(Filter.parse("[?(" + filter + ")]"), indexes);
+        return candidates == null ? null : candidates.toString();
+    }
+
+    @Test
+    public void the_index_is_rebuilt_after_writes() {
+        DocumentContext catalog = parse(CATALOG).index("$.products[*]", "sku");
+        assertThat(catalog.<List<Object>>read("$.products[?(@.sku == 'x')]")).isEmpty();
+
+        catalog.set("$.products[1].sku", "x");
+        assertThat(catalog.<List<Object>>read("$.products[?(@.sku == 'x')].price")).containsExactly(2.5);
+
+        catalog.add("$.products", Collections.singletonMap("sku", "x"));
+        catalog.delete("$.products[0]");
+        assertThat(catalog.<List<Object>>read("$.products[?(@.sku == 'x')]")).hasSize(2);
+        assertThat(catalog.<List<Object>>read("$.products[?(@.sku == 'a')].price")).containsExactly(1);
+    }
+
+    @Test
+    public void replaced_arrays_are_indexed() {
+        DocumentContext catalog = parse(CATALOG).index("$.products[*]", "sku");
+
+        catalog.set("$.products", parse("[{\"sku\": \"a\", \"price\": 42}]").json());
+
+        assertThat(catalog.<List<Object>>read("$.products[?(@.sku == 'a')].price")).containsExactly(42);
+    }
+
+    @Test
+    public void contexts_with_listeners_read_with_the_indexes_added_later() {
+        DocumentContext catalog = parse(CATALOG);
+        ReadContext limited = catalog.limit(20);
+        catalog.index("$.products[*]", "sku");
+        assertThat(limited.<List<Object>>read("$.products[?(@.sku == 'x')]")).isEmpty();
+
+        // modified behind the back of the context, only a read looking up the index misses the change
+        catalog.<Map<String, Object>>read("$.products[1]").put("sku", "x");
+
+        assertThat(limited.<List<Object>>read("$.products[?(@.sku == 'x')]")).isEmpty();
+        assertThat(parse((Object) catalog.json()).<List<Object>>read("$.products[?(@.sku == 'x')]")).hasSize(1);
+    }
+
+    @Test
+    public void only_all_elements_of_definite_paths_can_be_indexed() {
+        DocumentContext catalog = parse(CATALOG);
+
+        assertThrows(InvalidPathException.class, () -> catalog.index("$.products", "sku"));
+        assertThrows(InvalidPathException.class, () -> catalog.index("$..products[*]", "sku"));
+    }
+}
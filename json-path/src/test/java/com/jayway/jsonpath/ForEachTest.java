@@ -0,0 +1,76 @@
+package com.jayway.jsonpath;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ForEachTest extends BaseTest {
+
+    private static final Object DOCUMENT = Configuration.defaultConfiguration().jsonProvider().parse(JSON_DOCUMENT);
+
+    private static List<Object> forEach(String path, Configuration configuration) {
+        List<Object> matches = new ArrayList<Object>();
+        JsonPath.compile(path).forEach(DOCUMENT, configuration, matches::add);
+        return matches;
+    }
+
+    @Test
+    public void for_each_hands_over_the_matches_of_read() {
+        Configuration configuration = Configuration.defaultConfiguration();
+
+        assertThat(forEach("$..author", configuration)).isEqualTo(JsonPath.read(DOCUMENT, "$..author"));
+        assertThat(forEach("$.store.book[?(@.display-price > 10)].title", configuration))
+                .containsExactly("Sword of Honour", "The Lord of the Rings");
+        assertThat(forEach("$.store.bicycle.color", configuration)).containsExactly("red");
+        assertThat(forEach("$.store.book[*].missing", configuration)).isEqualTo(new ArrayList<Object>());
+    }
+
+    @Test
+    public void for_each_hands_over_paths() {
+        Configuration configuration = Configuration.defaultConfiguration().addOptions(Option.AS_PATH_LIST);
+
+        assertThat(forEach("$.store.book[1,3].title", configuration))
+                .containsExactly("$['store']['book'][1]['title']", "$['store']['book'][3]['title']");
+    }
+
+    @Test
+    public void for_each_while_stops_when_the_action_returns_false() {
+        final List<Object> matches = new ArrayList<Object>();
+
+        JsonPath.compile("$..author").forEachWhile(DOCUMENT, Configuration.defaultConfiguration(), match -> {
+            matches.add(match);
+            return matches.size() < 2;
+        });
+
+        assertThat(matches).containsExactly("Nigel Rees", "Evelyn Waugh");
+    }
+
+    @Test
+    public void listener_abort_keeps_the_result_that_triggered_it() {
+        Configuration configuration = Configuration.builder().evaluationListener(found ->
+                found.index() == 1 ? EvaluationListener.EvaluationContinuation.ABORT : EvaluationListener.EvaluationContinuation.CONTINUE
+        ).build();
+
+        List<Object> read = JsonPath.using(configuration).parse(DOCUMENT).read("$..author");
+
+        assertThat(forEach("$..author", configuration)).isEqualTo(read).containsExactly("Nigel Rees", "Evelyn Waugh");
+    }
+
+    @Test
+    public void function_path_hands_over_the_function_result() {
+        assertThat(forEach("$.store.book.length()", Configuration.defaultConfiguration())).containsExactly(4);
+    }
+
+    @Test
+    public void missing_definite_path_throws() {
+        assertThatThrownBy(() -> forEach("$.store.missing", Configuration.defaultConfiguration()))
+                .isInstanceOf(PathNotFoundException.class);
+
+        assertThat(forEach("$.store.missing", Configuration.defaultConfiguration().addOptions(Option.SUPPRESS_EXCEPTIONS)))
+                .isEqualTo(new ArrayList<Object>());
+    }
+}
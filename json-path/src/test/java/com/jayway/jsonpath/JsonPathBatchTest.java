@@ -0,0 +1,81 @@
+package com.jayway.jsonpath;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JsonPathBatchTest extends BaseTest {
+
+    private static final Object DOCUMENT = Configuration.defaultConfiguration().jsonProvider().parse(JSON_DOCUMENT);
+
+    private static void assertSameAsRead(Configuration configuration, String... paths) {
+        JsonPathBatch batch = JsonPathBatch.compile(paths);
+
+        Map<JsonPath, Object> results = batch.read(DOCUMENT, configuration);
+
+        assertThat(results.size()).isEqualTo(paths.length);
+        for (JsonPath path : batch.getPaths()) {
+            assertThat(results.get(path)).as(path.getPath()).isEqualTo(path.read(DOCUMENT, configuration));
+        }
+    }
+
+    @Test
+    public void results_are_the_same_as_read() {
+        assertSameAsRead(Configuration.defaultConfiguration(),
+                "$",
+                "$.store.bicycle.color",
+                "$.store.bicycle['dot.notation']",
+                "$.store.book[0].title",
+                "$.store.book[-1].title",
+                "$.store.book[1]['author','title']",
+                "$.store.book[*].author",
+                "$.store.book[?(@.display-price > 10)].title",
+                "$.store.book[?(@.display-price > $.max-price)].title",
+                "$.store.book[*].isbn",
+                "$..author",
+                "$.store.book.length()");
+    }
+
+    @Test
+    public void options_are_honored() {
+        String[] paths = {"$.store.book[0].isbn", "$.store.book[9].title", "$.store.book[*].isbn", "$.store.bicycle.color", "$.store.missing.color"};
+
+        assertSameAsRead(Configuration.defaultConfiguration().addOptions(Option.SUPPRESS_EXCEPTIONS), paths);
+        assertSameAsRead(Configuration.defaultConfiguration().addOptions(Option.DEFAULT_PATH_LEAF_TO_NULL, Option.SUPPRESS_EXCEPTIONS), paths);
+        assertSameAsRead(Configuration.defaultConfiguration().addOptions(Option.AS_PATH_LIST, Option.SUPPRESS_EXCEPTIONS), paths);
+        assertSameAsRead(Configuration.defaultConfiguration().addOptions(Option.ALWAYS_RETURN_LIST, Option.SUPPRESS_EXCEPTIONS), paths);
+    }
+
+    @Test
+    public void paths_that_only_differ_in_their_filter_are_kept_apart() {
+        JsonPath cheap = JsonPath.compile("$.store.book[?(@.display-price < 10)].title");
+        JsonPath expensive = JsonPath.compile("$.store.book[?(@.display-price > 10)].title");
+
+        Map<JsonPath, Object> results = JsonPathBatch.compile(Arrays.asList(cheap, expensive)).read(DOCUMENT);
+
+        assertThat((List<String>) results.get(cheap)).containsExactly("Sayings of the Century", "Moby Dick");
+        assertThat((List<String>) results.get(expensive)).containsExactly("Sword of Honour", "The Lord of the Rings");
+    }
+
+    @Test
+    public void missing_definite_path_throws() {
+        JsonPathBatch batch = JsonPathBatch.compile("$.store.bicycle.color", "$.store.missing.color");
+
+        assertThatThrownBy(() -> batch.read(DOCUMENT)).isInstanceOf(PathNotFoundException.class);
+    }
+
+    @Test
+    public void batch_can_be_read_from_a_document_context() {
+        JsonPathBatch batch = JsonPathBatch.compile("$.store.bicycle.color", "$.store.book[0].author");
+
+        Map<JsonPath, Object> results = JsonPath.parse(JSON_DOCUMENT).read(batch);
+
+        assertThat(results.get(batch.getPaths().get(0))).isEqualTo("red");
+        assertThat(results.get(batch.getPaths().get(1))).isEqualTo("Nigel Rees");
+    }
+}
@@ -0,0 +1,96 @@
+package com.jayway.jsonpath;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ParallelDeepScanTest extends BaseTest {
+
+    private static final Configuration SEQUENTIAL = Configuration.defaultConfiguration();
+    private static final Configuration PARALLEL = SEQUENTIAL.addOptions(Option.PARALLEL_DEEP_SCAN);
+
+    private static Map<String, Object> document() {
+        List<Object> items = new ArrayList<Object>();
+        for (int i = 0; i < 5000; i++) {
+            Map<String, Object> item = new LinkedHashMap<String, Object>();
+            item.put("id", i);
+            item.put("price", i % 100);
+            if (i % 3 == 0) {
+                Map<String, Object> sub = new LinkedHashMap<String, Object>();
+                sub.put("price", i % 7);
+                item.put("sub", sub);
+            }
+            items.add(item);
+        }
+        Map<String, Object> wide = new LinkedHashMap<String, Object>();
+        for (int i = 0; i < 2000; i++) {
+            Map<String, Object> value = new LinkedHashMap<String, Object>();
+            value.put("price", i % 13);
+            wide.put("k" + i, value);
+        }
+        Map<String, Object> document = new LinkedHashMap<String, Object>();
+        document.put("max", 90);
+        document.put("items", items);
+        document.put("wide", wide);
+        return document;
+    }
+
+    private static void assertSameAsSequential(Object document, String path, Configuration sequential) {
+        Object expected = JsonPath.compile(path).read(document, sequential);
+        Object actual = JsonPath.compile(path).read(document, sequential.addOptions(Option.PARALLEL_DEEP_SCAN));
+
+        assertThat(actual).as(path).isEqualTo(expected);
+    }
+
+    @Test
+    public void results_are_in_the_order_of_a_sequential_scan() {
+        Object document = document();
+
+        assertSameAsSequential(document, "$..price", SEQUENTIAL);
+        assertSameAsSequential(document, "$..sub.price", SEQUENTIAL);
+        assertSameAsSequential(document, "$..[?(@.price > 95)].id", SEQUENTIAL);
+        assertSameAsSequential(document, "$..[?(@.price > $.max)]['id']", SEQUENTIAL);
+        assertSameAsSequential(document, "$..[1]", SEQUENTIAL);
+        assertSameAsSequential(document, "$..*", SEQUENTIAL);
+        assertSameAsSequential(document, "$..price.length()", SEQUENTIAL);
+        assertSameAsSequential(document, "$..price", SEQUENTIAL.addOptions(Option.AS_PATH_LIST));
+        assertSameAsSequential(document, "$..sub", SEQUENTIAL.addOptions(Option.DEFAULT_PATH_LEAF_TO_NULL));
+    }
+
+    @Test
+    public void small_documents_are_scanned_as_before() {
+        List<String> authors = JsonPath.compile("$..author").read(JSON_DOCUMENT, PARALLEL);
+
+        assertThat(authors).containsExactly("Nigel Rees", "Evelyn Waugh", "Herman Melville", "J. R. R. Tolkien");
+    }
+
+    @Test
+    public void evaluation_listeners_see_results_in_order() {
+        Object document = document();
+        List<Object> expected = JsonPath.using(SEQUENTIAL).parse(document).limit(5).read("$..price");
+
+        List<Object> actual = JsonPath.using(PARALLEL).parse(document).limit(5).read("$..price");
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(actual).hasSize(5);
+    }
+
+    @Test
+    public void the_first_exception_in_document_order_is_thrown() {
+        Object document = document();
+        JsonPath path = JsonPath.compile("$..[?(@.price > 95)].sub.price");
+        Configuration requireProperties = SEQUENTIAL.addOptions(Option.REQUIRE_PROPERTIES);
+
+        assertThatThrownBy(() -> path.read(document, requireProperties.addOptions(Option.PARALLEL_DEEP_SCAN)))
+                .isInstanceOf(PathNotFoundException.class)
+                .hasMessage("Missing property in path $['items'][97]['sub']");
+        assertThatThrownBy(() -> path.read(document, requireProperties))
+                .hasMessage("Missing property in path $['items'][97]['sub']");
+    }
+}
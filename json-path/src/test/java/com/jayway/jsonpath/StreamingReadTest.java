@@ -0,0 +1,179 @@
+package com.jayway.jsonpath;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class StreamingReadTest extends BaseTest {
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertSameAsRead(String path) throws IOException {
+        assertSameAsRead(path, Configuration.defaultConfiguration());
+    }
+
+    private static void assertSameAsRead(String path, Configuration configuration) throws IOException {
+        JsonPath jsonPath = JsonPath.compile(path);
+        assertThat(jsonPath.isStreamable(configuration)).as(path).isTrue();
+
+        Object expected = jsonPath.read(JSON_DOCUMENT, configuration);
+        Object actual = jsonPath.readStreaming(stream(JSON_DOCUMENT), configuration);
+
+        assertThat(actual).as(path).isEqualTo(expected);
+    }
+
+    @Test
+    public void definite_paths_read_the_same_values() throws IOException {
+        assertSameAsRead("$");
+        assertSameAsRead("$.store");
+        assertSameAsRead("$.store.bicycle.color");
+        assertSameAsRead("$.store.bicycle.escape");
+        assertSameAsRead("$.store.book[2].isbn");
+        assertSameAsRead("$['store']['bicycle']['dot.notation']");
+        assertSameAsRead("$.long-max-property");
+        assertSameAsRead("$.null-property");
+    }
+
+    @Test
+    public void indefinite_paths_read_the_same_values() throws IOException {
+        assertSameAsRead("$.store.book[*].author");
+        assertSameAsRead("$.store.book[1,3].title");
+        assertSameAsRead("$.store.book[1:].title");
+        assertSameAsRead("$.store.book[:2].title");
+        assertSameAsRead("$.store.book[-2:].title");
+        assertSameAsRead("$.store.book[*]['author','isbn']");
+        assertSameAsRead("$.store.*");
+        assertSameAsRead("$.store.book[*].isbn");
+    }
+
+    @Test
+    public void filters_on_the_current_item_read_the_same_values() throws IOException {
+        assertSameAsRead("$.store.book[?(@.display-price > 10)].title");
+        assertSameAsRead("$.store.book[?(@.isbn)]");
+        assertSameAsRead("$.store.book[?(@.category == 'fiction' && @.display-price < 20)].author");
+        assertSameAsRead("$..book[?(@.display-price > 10)].title");
+    }
+
+    @Test
+    public void deep_scans_read_the_same_values() throws IOException {
+        assertSameAsRead("$..author");
+        assertSameAsRead("$..book[0].title");
+        assertSameAsRead("$..[1]");
+        assertSameAsRead("$.store..color");
+    }
+
+    @Test
+    public void deep_scan_results_are_in_document_order() throws IOException {
+        String json = "{\"a\": {\"price\": 1}, \"price\": 2}";
+
+        List<Integer> read = JsonPath.read(json, "$..price");
+        List<Integer> streamed = JsonPath.compile("$..price").readStreaming(stream(json));
+
+        assertThat(read).containsExactly(2, 1);
+        assertThat(streamed).containsExactly(1, 2);
+    }
+
+    @Test
+    public void options_are_honored() throws IOException {
+        assertSameAsRead("$.store.book[*].isbn", Configuration.defaultConfiguration().addOptions(Option.DEFAULT_PATH_LEAF_TO_NULL));
+        assertSameAsRead("$.store.book[*].isbn", Configuration.defaultConfiguration().addOptions(Option.AS_PATH_LIST));
+        assertSameAsRead("$.store.bicycle.color", Configuration.defaultConfiguration().addOptions(Option.ALWAYS_RETURN_LIST));
+        assertSameAsRead("$.store.missing.color", Configuration.defaultConfiguration().addOptions(Option.SUPPRESS_EXCEPTIONS));
+    }
+
+    @Test
+    public void missing_definite_path_throws() {
+        assertThatThrownBy(() -> JsonPath.compile("$.store.missing").readStreaming(stream(JSON_DOCUMENT)))
+                .isInstanceOf(PathNotFoundException.class);
+        assertThatThrownBy(() -> JsonPath.compile("$.missing[*].color").readStreaming(stream(JSON_DOCUMENT)))
+                .isInstanceOf(PathNotFoundException.class);
+    }
+
+    @Test
+    public void errors_describe_the_values_read() {
+        for (String path : new String[]{"$.store[0]", "$.store.bicycle[1:]", "$.store.book.title", "$.store.missing.color"}) {
+            JsonPath jsonPath = JsonPath.compile(path);
+            PathNotFoundException expected = assertThrows(PathNotFoundException.class, () -> jsonPath.read(JSON_DOCUMENT));
+
+            assertThatThrownBy(() -> jsonPath.readStreaming(stream(JSON_DOCUMENT))).as(path)
+                    .isInstanceOf(PathNotFoundException.class)
+                    .hasMessage(expected.getMessage());
+        }
+    }
+
+    @Test
+    public void definite_path_stops_reading_after_the_result() throws IOException {
+        String json = "{\"id\": 1, \"rest\": [this is never read";
+
+        Object id = JsonPath.compile("$.id").readStreaming(stream(json));
+
+        assertThat(id).isEqualTo(1);
+    }
+
+    @Test
+    public void evaluation_listener_can_abort() throws IOException {
+        EvaluationListener firstResultListener = new EvaluationListener() {
+            @Override
+            public EvaluationContinuation resultFound(FoundResult found) {
+                return EvaluationContinuation.ABORT;
+            }
+        };
+        Configuration configuration = Configuration.builder().evaluationListener(firstResultListener).build();
+
+        List<String> titles = JsonPath.compile("$..title").readStreaming(stream(JSON_DOCUMENT), configuration);
+
+        assertThat(titles).containsExactly("Sayings of the Century");
+    }
+
+    @Test
+    public void malformed_json_throws() {
+        assertThatThrownBy(() -> JsonPath.compile("$.a[*]").readStreaming(stream("{\"a\": [1, 2,}")))
+                .isInstanceOf(InvalidJsonException.class);
+        assertThatThrownBy(() -> JsonPath.compile("$..a").readStreaming(stream("{\"a\": 1} x")))
+                .isInstanceOf(InvalidJsonException.class);
+    }
+
+    @Test
+    public void malformed_numbers_throw_when_skipped() throws IOException {
+        for (String number : new String[]{"1-2", "--", "-", "1e", "1e+", "1.", ".5", "01", "1.e3", "+1"}) {
+            assertThatThrownBy(() -> JsonPath.compile("$.b").readStreaming(stream("{\"a\": " + number + ", \"b\": 1}")))
+                    .as(number)
+                    .isInstanceOf(InvalidJsonException.class);
+        }
+        for (String number : new String[]{"0", "-0", "12", "-1.25", "1e3", "1E-3", "2.5e+10"}) {
+            assertThat(JsonPath.compile("$.b").<Integer>readStreaming(stream("{\"a\": " + number + ", \"b\": 1}")))
+                    .as(number)
+                    .isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void invalid_unicode_escapes_report_the_bad_digit() {
+        assertThatThrownBy(() -> JsonPath.compile("$.b").readStreaming(stream("{\"a\": \"\\u12x4\", \"b\": 1}")))
+                .isInstanceOf(InvalidJsonException.class)
+                .hasMessageContaining("found 'x'");
+    }
+
+    @Test
+    public void paths_reading_the_root_document_are_not_streamed() throws IOException {
+        Configuration configuration = Configuration.defaultConfiguration();
+
+        assertThat(JsonPath.compile("$.store.book[?(@.display-price > $.max-price)]").isStreamable(configuration)).isFalse();
+        assertThat(JsonPath.compile("$.store.book.length()").isStreamable(configuration)).isFalse();
+        assertThat(JsonPath.compile("$..[?(@.isbn)]").isStreamable(configuration)).isFalse();
+        assertThat(JsonPath.compile("$.store.book[*]").isStreamable(configuration.addOptions(Option.REQUIRE_PROPERTIES))).isFalse();
+
+        List<String> titles = JsonPath.compile("$.store.book[?(@.display-price > $.max-price)].title").readStreaming(stream(JSON_DOCUMENT));
+        assertThat(titles).containsExactly("Sword of Honour", "The Lord of the Rings");
+    }
+}
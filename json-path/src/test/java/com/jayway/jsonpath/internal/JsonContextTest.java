@@ -1,10 +1,14 @@
 package com.jayway.jsonpath.internal;
 
 import com.jayway.jsonpath.BaseTest;
+import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.Criteria;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.Filter;
 import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.spi.cache.CacheStats;
+import com.jayway.jsonpath.spi.cache.TinyLFUCache;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -27,4 +31,27 @@ public class JsonContextTest extends BaseTest {
         Assertions.assertThat(ne).doesNotContain("reference");
     }
 
+    @Test
+    public void configured_cache_is_used_instead_of_global_cache() {
+        TinyLFUCache cache = new TinyLFUCache(10, true);
+        Configuration conf = Configuration.builder().cache(cache).build();
+
+        DocumentContext doc = JsonPath.using(conf).parse(JSON_DOCUMENT);
+        doc.read("$.store.book[0].author");
+        doc.read("$.store.book[0].author");
+
+        CacheStats stats = cache.stats();
+        Assertions.assertThat(cache.getSilent("$.store.book[0].author")).isNotNull();
+        Assertions.assertThat(stats.missCount()).isEqualTo(1L);
+        Assertions.assertThat(stats.hitCount()).isEqualTo(1L);
+        Assertions.assertThat(stats.compileCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void configured_cache_survives_configuration_copies() {
+        TinyLFUCache cache = new TinyLFUCache(10);
+        Configuration conf = Configuration.builder().cache(cache).build().addOptions(Option.SUPPRESS_EXCEPTIONS);
+
+        Assertions.assertThat(conf.cache()).isSameAs(cache);
+    }
 }
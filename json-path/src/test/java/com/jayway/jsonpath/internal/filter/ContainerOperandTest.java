@@ -0,0 +1,77 @@
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.TypeRef;
+import com.jayway.jsonpath.spi.mapper.JsonSmartMappingProvider;
+import com.jayway.jsonpath.spi.mapper.MappingProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.jayway.jsonpath.Criteria.where;
+import static com.jayway.jsonpath.Filter.filter;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ContainerOperandTest {
+
+    private static final String JSON = "[" +
+            "{\"tags\": [\"a\", \"b\"], \"props\": {}}, " +
+            "{\"tags\": [], \"props\": {\"k\": 1}}, " +
+            "{\"tags\": [1, \"x\", 2.5]}, " +
+            "{\"tags\": \"ab\"}" +
+            "]";
+
+    @Test
+    public void arrays_and_objects_are_read_without_mapping() {
+        CountingMappingProvider mappingProvider = new CountingMappingProvider();
+        Configuration configuration = Configuration.builder().mappingProvider(mappingProvider).build();
+
+        assertThat(read(configuration, "$[?(@.tags contains 'a')]")).hasSize(2);
+        assertThat(JsonPath.using(configuration).parse(JSON).<List<?>>read("$[?]", filter(where("tags").all("a", "b")))).hasSize(1);
+        assertThat(read(configuration, "$[?(@.tags size 3)]")).hasSize(1);
+        assertThat(read(configuration, "$[?(@.tags empty true)]")).hasSize(1);
+        assertThat(read(configuration, "$[?(2.5 in @.tags)]")).hasSize(1);
+        assertThat(read(configuration, "$[?(@.tags anyof ['x', 'y'])]")).hasSize(1);
+        assertThat(JsonPath.using(configuration).parse(JSON).<List<?>>read("$[?]", filter(where("tags").type(List.class)))).hasSize(3);
+
+        assertThat(mappingProvider.calls).isEqualTo(0);
+    }
+
+    @Test
+    public void arrays_and_objects_compared_with_json_are_mapped() {
+        CountingMappingProvider mappingProvider = new CountingMappingProvider();
+        Configuration configuration = Configuration.builder().mappingProvider(mappingProvider).build();
+
+        assertThat(read(configuration, "$[?(@.tags == ['a', 'b'])]")).hasSize(1);
+        assertThat(mappingProvider.calls).isGreaterThan(0);
+    }
+
+    @Test
+    public void objects_can_be_checked_for_emptiness() {
+        assertThat(read(Configuration.defaultConfiguration(), "$[?(@.props empty true)]")).hasSize(1);
+        assertThat(read(Configuration.defaultConfiguration(), "$[?(@.props empty false)]")).hasSize(1);
+    }
+
+    private static List<?> read(Configuration configuration, String path) {
+        return JsonPath.using(configuration).parse(JSON).read(path);
+    }
+
+    private static class CountingMappingProvider implements MappingProvider {
+
+        private final MappingProvider delegate = new JsonSmartMappingProvider();
+        private int calls;
+
+        @Override
+        public <T> T map(Object source, Class<T> targetType, Configuration configuration) {
+            calls++;
+            return delegate.map(source, targetType, configuration);
+        }
+
+        @Override
+        public <T> T map(Object source, TypeRef<T> targetType, Configuration configuration) {
+            calls++;
+            return delegate.map(source, targetType, configuration);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.Filter;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FilterOptimizerTest {
+
+    @Test
+    public void cheap_operands_are_applied_first() {
+        LogicalExpressionNode expression = parse("[?(@..deep && $.limit && @.type == 'a' && @.a.b)]");
+
+        assertThat(operands(expression)).containsExactly("@['type'] == 'a'", "@['a']['b']", "@..['deep']", "$['limit']");
+    }
+
+    @Test
+    public void operands_that_can_fail_and_operands_after_them_keep_their_position() {
+        LogicalExpressionNode expression = parse("[?($.x && @..deep && @..deep =~ /.*x.*/ && @.type == 'a')]");
+        assertThat(operands(expression)).containsExactly("@..['deep']", "$['x']", "@..['deep'] =~ /.*x.*/", "@['type'] == 'a'");
+
+        expression = parse("[?($.flag == true || @.type in 'abc')]");
+        assertThat(operands(expression)).containsExactly("$['flag'] == true", "@['type'] IN 'abc'");
+    }
+
+    @Test
+    public void operands_after_a_failing_operand_do_not_decide_the_item() {
+        String json = "{\"flag\": true, \"items\": [{\"type\": \"a\", \"n\": 1}, {\"type\": \"b\", \"n\": 2}]}";
+
+        assertThat(JsonPath.<List<Object>>read(json, "$.items[?($.flag == true || @.type in 'abc')].n")).containsExactly(1, 2);
+        assertThat(JsonPath.<List<Object>>read(json, "$.items[?(@.n > 1 || @.type in 'abc')].n")).containsExactly(2);
+    }
+
+    @Test
+    public void operands_of_the_same_cost_keep_their_order() {
+        LogicalExpressionNode expression = parse("[?(@.b || @.a == 1 || @.c)]");
+
+        assertThat(operands(expression)).containsExactly("@['b']", "@['a'] == 1", "@['c']");
+    }
+
+    @Test
+    public void operands_calling_functions_and_operands_after_them_keep_their_position() {
+        LogicalExpressionNode expression = parse("[?($.x && @.a && @.tags.length() > 1 && @..b && @.c)]");
+
+        assertThat(operands(expression)).containsExactly("@['a']", "$['x']", "@['tags'].length() > 1", "@..['b']", "@['c']");
+    }
+
+    @Test
+    public void nested_expressions_are_ordered() {
+        LogicalExpressionNode expression = parse("[?(@..a && (@..b || @.c) && @.d)]");
+
+        assertThat(operands(expression)).containsExactly("@['d']", "@..['a']", "(@..['b'] || @['c'])");
+        assertThat(operands((LogicalExpressionNode) expression.evaluationOrder().get(2))).containsExactly("@['c']", "@..['b']");
+    }
+
+    @Test
+    public void filters_print_as_written() {
+        String filter = "[?(@..deep =~ /.*x.*/ && @.type == 'a')]";
+
+        assertThat(FilterCompiler.compile(filter).toString()).isEqualTo("[?(@..['deep'] =~ /.*x.*/ && @['type'] == 'a')]");
+    }
+
+    @Test
+    public void reordered_filters_select_the_same_items() {
+        String json = "{\"limit\": 2, \"items\": [" +
+                "{\"type\": \"a\", \"sub\": {\"deep\": \"xyz\"}, \"n\": 1}, " +
+                "{\"type\": \"b\", \"deep\": \"x\", \"n\": 3}, " +
+                "{\"type\": \"a\", \"n\": 5}, " +
+                "{\"deep\": \"y\"}" +
+                "]}";
+
+        assertThat(JsonPath.<List<Object>>read(json, "$.items[?(@..deep =~ /.*x.*/ && @.type == 'a')].n")).containsExactly(1);
+        assertThat(JsonPath.<List<Object>>read(json, "$.items[?(@.n > $.limit || @.type == 'a')].n")).containsExactly(1, 3, 5);
+        assertThat(JsonPath.<List<Object>>read(json, "$.items[?(!(@..deep && @.n < 3))].n")).containsExactly(3, 5);
+    }
+
+    private static LogicalExpressionNode parse(String filter) {
+        return (LogicalExpressionNode) FilterCompiler.expressionOf(FilterCompiler.compile(filter));
+    }
+
+    private static List<String> operands(LogicalExpressionNode expression) {
+        List<String> operands = new ArrayList<String>();
+        for (ExpressionNode operand : expression.evaluationOrder()) {
+            operands.add(operand.toString());
+        }
+        return operands;
+    }
+}
@@ -0,0 +1,85 @@
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.internal.path.PredicateContextImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JsonLiteralTest {
+
+    private static final String LIST = "[\"a\", \"10\", \"1.50\", 100, 0.0, -2.5, true, null, \"x y\", 7, \"$.not.a.path\"]";
+
+    private static final List<ValueNode> VALUES = Arrays.<ValueNode>asList(
+            ValueNode.createStringNode("a", false),
+            ValueNode.createStringNode("b", false),
+            ValueNode.createStringNode("10", false),
+            ValueNode.createStringNode("100", false),
+            ValueNode.createStringNode("1.5", false),
+            ValueNode.createStringNode("-2.5", false),
+            ValueNode.createStringNode("0", false),
+            ValueNode.createNumberNode("10"),
+            ValueNode.createNumberNode("10.0"),
+            ValueNode.createNumberNode("1E2"),
+            ValueNode.createNumberNode("1.5"),
+            ValueNode.createNumberNode("0"),
+            ValueNode.createNumberNode("-0.00"),
+            ValueNode.createNumberNode("7"),
+            ValueNode.createNumberNode("8"),
+            ValueNode.createBooleanNode("true"),
+            ValueNode.createBooleanNode("false"),
+            ValueNode.createNullNode(),
+            ValueNode.createUndefinedNode(),
+            ValueNode.createJsonNode("[1]")
+    );
+
+    @Test
+    public void json_literals_are_parsed_once() {
+        ValueNodes.JsonNode literal = ValueNode.createJsonNode(LIST);
+        PredicateContextImpl ctx = context();
+
+        assertThat(literal.parse(ctx)).isSameAs(literal.parse(ctx));
+        assertThat(literal.asValueListNode(ctx)).isSameAs(literal.asValueListNode(ctx));
+        assertThat(literal.toString()).isEqualTo(LIST);
+    }
+
+    @Test
+    public void json_literals_can_not_be_modified() {
+        List<?> list = (List<?>) ValueNode.createJsonNode(LIST).parse(context());
+
+        assertThrows(UnsupportedOperationException.class, () -> list.remove(0));
+    }
+
+    @Test
+    public void hashed_lookups_match_linear_lookups() {
+        ValueNodes.JsonNode literal = ValueNode.createJsonNode(LIST);
+        ValueNodes.ValueListNode indexed = literal.asValueListNode(context()).asValueListNode();
+        ValueNodes.ValueListNode linear = new ValueNodes.ValueListNode((List<?>) literal.parse(context()));
+
+        for (ValueNode value : VALUES) {
+            assertThat(indexed.contains(value)).as("%s", value).isEqualTo(linear.contains(value));
+        }
+    }
+
+    @Test
+    public void membership_operators_use_the_parsed_literal() {
+        String json = "[{\"v\": \"a\"}, {\"v\": 100.0}, {\"v\": \"b\"}, {\"v\": 10}, {\"v\": null}, {\"v\": [7, \"a\"]}, {\"v\": [8]}]";
+        Configuration conf = Configuration.defaultConfiguration();
+
+        assertThat(JsonPath.using(conf).parse(json).read("$[?(@.v in " + LIST + ")].v", List.class)).hasSize(4);
+        assertThat(JsonPath.using(conf).parse(json).read("$[?(@.v nin " + LIST + ")].v", List.class)).hasSize(3);
+        assertThat(JsonPath.using(conf).parse(json).read("$[?(@.v anyof " + LIST + ")].v", List.class)).hasSize(1);
+        assertThat(JsonPath.using(conf).parse(json).read("$[?(@.v noneof " + LIST + ")].v", List.class)).hasSize(1);
+        assertThat(JsonPath.using(conf).parse(json).read("$[?(@.v subsetof " + LIST + ")].v", List.class)).hasSize(1);
+    }
+
+    private static PredicateContextImpl context() {
+        return new PredicateContextImpl(null, null, Configuration.defaultConfiguration(), new HashMap());
+    }
+}
@@ -0,0 +1,57 @@
+package com.jayway.jsonpath.internal.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Pattern;
+
+import static com.jayway.jsonpath.internal.filter.ValueNodes.PatternNode;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LiteralPatternTest {
+
+    private static final String[] PATTERNS = {
+            "abc", "^abc$", "abc.*", "^abc.*$", ".*abc", ".*abc.*", ".*", "^$", ".*.*",
+            "a\\.b.*", ".*a\\$", "a b#c.*", ".*\\\\.*", "ab.*\\.*", ".*\u00e9.*", "abc\\.*",
+            ".*abc.*?", "ab+c", "a|b", "\\d.*", "[a]bc", "a\\Qb\\E"
+    };
+
+    private static final String[] FLAGS = {"", "i", "s", "m", "d", "iu", "x"};
+
+    private static final String[] INPUTS = {
+            "", "abc", "ABC", "aBc", "xabc", "abcx", "xabcx", "ab", "xyz", "abcabc", "xABCx",
+            "abc\n", "x\nabc", "abc\rx", "x\u2028abc\u2029", "a.b", "a.bc", "axb", "xa$", "a b#c",
+            "x\\y", "ab..", "\u00e9", "x\u00c9x", "x\u00e9x", "aBc\u0085", "\u212abc", "\u017fbc", "1"
+    };
+
+    @Test
+    public void literal_patterns_match_like_the_compiled_pattern() {
+        for (String regex : PATTERNS) {
+            for (String flags : FLAGS) {
+                PatternNode node = new PatternNode("/" + regex + "/" + flags);
+                for (String input : INPUTS) {
+                    boolean expected = node.getCompiledPattern().matcher(input).matches();
+
+                    assertThat(node.matches(input)).as("/%s/%s =~ %s", regex, flags, input).isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void literal_patterns_are_recognized() {
+        assertThat(LiteralPattern.analyze("^abc$", 0)).isNotNull();
+        assertThat(LiteralPattern.analyze("abc.*", 0)).isNotNull();
+        assertThat(LiteralPattern.analyze(".*abc", 0)).isNotNull();
+        assertThat(LiteralPattern.analyze(".*a\\.b.*", Pattern.CASE_INSENSITIVE)).isNotNull();
+    }
+
+    @Test
+    public void other_patterns_use_the_regex_engine() {
+        assertThat(LiteralPattern.analyze("a+bc", 0)).isNull();
+        assertThat(LiteralPattern.analyze("\\d.*", 0)).isNull();
+        assertThat(LiteralPattern.analyze(".*\u00e9.*", Pattern.CASE_INSENSITIVE)).isNull();
+        assertThat(LiteralPattern.analyze(".*abc.*", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE)).isNull();
+        assertThat(LiteralPattern.analyze("abc", Pattern.COMMENTS)).isNull();
+        assertThat(LiteralPattern.analyze("^$", Pattern.MULTILINE)).isNull();
+    }
+}
@@ -0,0 +1,134 @@
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.internal.path.PredicateContextImpl;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PropertyComparisonNodeTest {
+
+    private static final RelationalOperator[] OPERATORS = {
+            RelationalOperator.EQ, RelationalOperator.NE, RelationalOperator.TSEQ, RelationalOperator.TSNE,
+            RelationalOperator.LT, RelationalOperator.LTE, RelationalOperator.GT, RelationalOperator.GTE
+    };
+
+    private static final List<ValueNode> LITERALS = Arrays.<ValueNode>asList(
+            ValueNode.createNumberNode("0"),
+            ValueNode.createNumberNode("10"),
+            ValueNode.createNumberNode("-3"),
+            ValueNode.createNumberNode("10.5"),
+            ValueNode.createNumberNode("0.1"),
+            ValueNode.createNumberNode("0.10000000000000001"),
+            ValueNode.createNumberNode("1E20"),
+            ValueNode.createNumberNode("9223372036854775808"),
+            ValueNode.createStringNode("'10'", true),
+            ValueNode.createStringNode("'abc'", true),
+            ValueNode.createBooleanNode("true"),
+            ValueNode.createBooleanNode("false")
+    );
+
+    private static final List<Object> VALUES = Arrays.<Object>asList(
+            0, 10, -3, 11, Long.MAX_VALUE, Long.MIN_VALUE, (short) 10, (byte) -3,
+            10.0, 10.5, 10.500000000000002, 0.1, 0.30000000000000004, 1e20, -0.0, 9.223372036854776E18,
+            10.5f, new BigDecimal("10.50"), new BigDecimal("0.1"), new BigInteger("9223372036854775808"),
+            "10", "abc", "abd", "", true, false, null,
+            Arrays.asList(1, 2), new LinkedHashMap<String, Object>()
+    );
+
+    private static final Configuration[] CONFIGURATIONS = {
+            Configuration.defaultConfiguration(),
+            Configuration.defaultConfiguration().addOptions(Option.SUPPRESS_EXCEPTIONS),
+            Configuration.defaultConfiguration().addOptions(Option.DEFAULT_PATH_LEAF_TO_NULL),
+            Configuration.defaultConfiguration().addOptions(Option.REQUIRE_PROPERTIES),
+            Configuration.defaultConfiguration().addOptions(Option.DEFAULT_PATH_LEAF_TO_NULL, Option.SUPPRESS_EXCEPTIONS)
+    };
+
+    @Test
+    public void comparisons_of_item_properties_with_literals_are_specialized() {
+        assertThat(specialize("@.a", RelationalOperator.GT, ValueNode.createNumberNode("1")))
+                .isInstanceOf(PropertyComparisonNode.class);
+        assertThat(specialize("@['a'].b", RelationalOperator.EQ, ValueNode.createStringNode("'x'", true)))
+                .isInstanceOf(PropertyComparisonNode.class);
+        assertThat(specialize("@.a", RelationalOperator.NE, ValueNode.createBooleanNode("true")))
+                .isInstanceOf(PropertyComparisonNode.class);
+    }
+
+    @Test
+    public void other_comparisons_are_not_specialized() {
+        assertThat(specialize("$.a", RelationalOperator.GT, ValueNode.createNumberNode("1")))
+                .isNotInstanceOf(PropertyComparisonNode.class);
+        assertThat(specialize("@.a[0]", RelationalOperator.GT, ValueNode.createNumberNode("1")))
+                .isNotInstanceOf(PropertyComparisonNode.class);
+        assertThat(specialize("@.*", RelationalOperator.GT, ValueNode.createNumberNode("1")))
+                .isNotInstanceOf(PropertyComparisonNode.class);
+        assertThat(specialize("@.a.length()", RelationalOperator.GT, ValueNode.createNumberNode("1")))
+                .isNotInstanceOf(PropertyComparisonNode.class);
+        assertThat(specialize("@.a", RelationalOperator.IN, ValueNode.createJsonNode("[1]")))
+                .isNotInstanceOf(PropertyComparisonNode.class);
+        assertThat(specialize("@.a", RelationalOperator.EQ, ValueNode.createNullNode()))
+                .isNotInstanceOf(PropertyComparisonNode.class);
+    }
+
+    @Test
+    public void specialized_comparisons_match_the_generic_evaluation() {
+        for (Object value : VALUES) {
+            Map<String, Object> nested = new HashMap<String, Object>();
+            nested.put("b", value);
+            Map<String, Object> item = new HashMap<String, Object>();
+            item.put("a", value);
+            item.put("n", nested);
+            item.put("s", "no object");
+
+            for (String path : new String[]{"@.a", "@.n.b", "@.missing", "@.n.missing", "@.missing.b", "@.s.b"}) {
+                assertSameResults(path, item);
+            }
+        }
+    }
+
+    @Test
+    public void filters_with_specialized_comparisons_select_the_same_items() {
+        String json = "[{\"price\": 8.95}, {\"price\": 12.99}, {\"price\": 22}, {\"price\": \"10\"}, {\"isbn\": \"x\"}, " +
+                "{\"price\": null}, {\"price\": 12.990}, {\"price\": true}]";
+
+        assertThat(JsonPath.<List<Object>>read(json, "$[?(@.price < 12.99)].price")).containsExactly(8.95);
+        assertThat(JsonPath.<List<Object>>read(json, "$[?(@.price >= 12.99)].price")).containsExactly(12.99, 22, 12.99);
+        assertThat(JsonPath.<List<Object>>read(json, "$[?(@.price == 10)].price")).containsExactly("10");
+        assertThat(JsonPath.<List<Object>>read(json, "$[?(@.price === 22)].price")).containsExactly(22);
+        assertThat(JsonPath.<List<Object>>read(json, "$[?(@.price != true)]")).hasSize(7);
+        assertThat(JsonPath.<List<Object>>read(json, "$[?(@.isbn == 'x' || @.price > 20)]")).hasSize(2);
+    }
+
+    private static void assertSameResults(String path, Object item) {
+        for (ValueNode literal : LITERALS) {
+            for (RelationalOperator operator : OPERATORS) {
+                RelationalExpressionNode generic = new RelationalExpressionNode(
+                        ValueNode.createPathNode(path, false, false), operator, literal);
+                RelationalExpressionNode specialized = specialize(path, operator, literal);
+                assertThat(specialized).isInstanceOf(PropertyComparisonNode.class);
+
+                for (Configuration configuration : CONFIGURATIONS) {
+                    PredicateContextImpl ctx = new PredicateContextImpl(item, item, configuration, new HashMap());
+                    assertThat(specialized.apply(ctx))
+                            .as("%s %s %s with %s and %s", path, operator, literal, item, configuration.getOptions())
+                            .isEqualTo(generic.apply(ctx));
+                }
+            }
+        }
+    }
+
+    private static RelationalExpressionNode specialize(String path, RelationalOperator operator, ValueNode right) {
+        return PropertyComparisonNode.specialize(
+                new RelationalExpressionNode(ValueNode.createPathNode(path, false, false), operator, right));
+    }
+}
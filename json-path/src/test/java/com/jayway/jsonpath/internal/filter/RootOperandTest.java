@@ -0,0 +1,58 @@
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.path.PredicateContextImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RootOperandTest {
+
+    private static final String JSON = "{" +
+            "\"allowed\": [\"a\", \"b\", \"c\", \"d\", \"e\", \"f\", \"g\", \"h\", 1, 2.50]," +
+            "\"limit\": 10," +
+            "\"items\": [" +
+            "{\"id\": \"a\", \"price\": 8}, " +
+            "{\"id\": \"x\", \"price\": 12}, " +
+            "{\"id\": 2.5, \"price\": 10}, " +
+            "{\"id\": \"1\", \"price\": 11}, " +
+            "{\"price\": 9}" +
+            "]}";
+
+    @Test
+    public void root_operands_are_evaluated_once_per_evaluation() {
+        Object document = Configuration.defaultConfiguration().jsonProvider().parse(JSON);
+        HashMap<Path, Object> documentPathCache = new HashMap<Path, Object>();
+        Map<Object, Object> operandCache = new IdentityHashMap<Object, Object>();
+        ValueNodes.PathNode allowed = ValueNode.createPathNode("$.allowed", false, false);
+
+        ValueNode first = allowed.evaluate(new PredicateContextImpl("a", document, Configuration.defaultConfiguration(), documentPathCache, operandCache));
+        ValueNode second = allowed.evaluate(new PredicateContextImpl("b", document, Configuration.defaultConfiguration(), documentPathCache, operandCache));
+
+        assertThat(second).isSameAs(first);
+        assertThat(operandCache).containsKey(allowed);
+    }
+
+    @Test
+    public void items_are_compared_with_root_operands() {
+        assertThat(JsonPath.<List<Object>>read(JSON, "$.items[?(@.id in $.allowed)].price")).containsExactly(8, 10, 11);
+        assertThat(JsonPath.<List<Object>>read(JSON, "$.items[?(@.id nin $.allowed)].price")).containsExactly(12, 9);
+        assertThat(JsonPath.<List<Object>>read(JSON, "$.items[?(@.price > $.limit)].price")).containsExactly(12, 11);
+        assertThat(JsonPath.<List<Object>>read(JSON, "$.items[?(@.price < $.missing)].price")).isEmpty();
+    }
+
+    @Test
+    public void root_operands_are_not_shared_between_evaluations() {
+        JsonPath path = JsonPath.compile("$.items[?(@.price > $.limit)].price");
+
+        assertThat(path.<List<Object>>read(JSON)).containsExactly(12, 11);
+        assertThat(path.<List<Object>>read(JSON.replace("\"limit\": 10", "\"limit\": 8"))).containsExactly(12, 10, 11, 9);
+    }
+}
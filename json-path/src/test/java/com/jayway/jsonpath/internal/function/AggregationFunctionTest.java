@@ -0,0 +1,110 @@
+package com.jayway.jsonpath.internal.function;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.EvaluationListener;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AggregationFunctionTest {
+
+    private static Map<String, Object> document(Object... values) {
+        return Collections.<String, Object>singletonMap("values", Arrays.asList(values));
+    }
+
+    @Test
+    public void integral_values_are_summed_exactly() {
+        Double sum = JsonPath.read(document(9007199254740993L, 1), "$.values.sum()");
+
+        assertThat(sum).isEqualTo(9007199254740994d);
+    }
+
+    @Test
+    public void long_overflow_is_summed_exactly() {
+        Double sum = JsonPath.read(document(Long.MAX_VALUE, Long.MAX_VALUE, -Long.MAX_VALUE), "$.values.sum()");
+        Double avg = JsonPath.read(document(Long.MAX_VALUE, Long.MAX_VALUE), "$.values.avg()");
+
+        assertThat(sum).isEqualTo((double) Long.MAX_VALUE);
+        assertThat(avg).isEqualTo((double) Long.MAX_VALUE);
+    }
+
+    @Test
+    public void mixed_values_are_summed() {
+        Double sum = JsonPath.read(document(1, 2.5, 3L, -0.5), "$.values.sum()");
+
+        assertThat(sum).isEqualTo(6d);
+    }
+
+    @Test
+    public void standard_deviation_of_large_values_is_stable() {
+        Double stddev = JsonPath.read(document(1e9 + 4, 1e9 + 7, 1e9 + 13, 1e9 + 16), "$.values.stddev()");
+
+        assertThat(stddev).isEqualTo(Math.sqrt(22.5));
+    }
+
+    @Test
+    public void path_parameters_are_aggregated() {
+        Map<String, Object> document = new HashMap<String, Object>();
+        document.put("items", Arrays.asList(Collections.singletonMap("price", 1), Collections.singletonMap("price", 2.5)));
+        document.put("values", Arrays.asList(10, 20));
+        Configuration withListener = Configuration.builder().evaluationListener(new EvaluationListener() {
+            @Override
+            public EvaluationContinuation resultFound(FoundResult found) {
+                return EvaluationContinuation.CONTINUE;
+            }
+        }).build();
+
+        Double scanned = JsonPath.read(document, "$..price.sum()");
+        Double definite = JsonPath.read(document, "$.sum($.values, $.values[0])");
+        Double listened = JsonPath.using(withListener).parse(document).read("$..price.sum()");
+
+        assertThat(scanned).isEqualTo(3.5d);
+        assertThat(definite).isEqualTo(40d);
+        assertThat(listened).isEqualTo(3.5d);
+    }
+
+    @Test
+    public void missing_definite_path_parameters_are_not_found() {
+        Map<String, Object> document = document(1);
+
+        assertThatThrownBy(() -> JsonPath.read(document, "$.sum($.values, $.missing)"))
+                .isInstanceOf(PathNotFoundException.class);
+        Double sum = JsonPath.using(Configuration.defaultConfiguration().addOptions(Option.SUPPRESS_EXCEPTIONS))
+                .parse(document).read("$.sum($.values, $.missing)");
+        assertThat(sum).isEqualTo(1d);
+    }
+
+    @Test
+    public void path_parameters_of_functions_invoked_for_every_item_are_evaluated_once() {
+        final AtomicInteger pricesRead = new AtomicInteger();
+        Configuration counting = Configuration.builder().jsonProvider(new JsonSmartJsonProvider() {
+            @Override
+            public Object getMapValue(Object obj, String key) {
+                if ("prices".equals(key)) {
+                    pricesRead.incrementAndGet();
+                }
+                return super.getMapValue(obj, key);
+            }
+        }).build();
+        Map<String, Object> document = new HashMap<String, Object>();
+        document.put("items", Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3), Arrays.asList(4, 5)));
+        document.put("prices", Arrays.asList(10, 20));
+
+        List<Double> sums = JsonPath.using(counting).parse(document).read("$.items[*].sum($.prices[*])");
+
+        assertThat(sums).containsExactly(33d, 33d, 39d);
+        assertThat(pricesRead.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,106 @@
+package com.jayway.jsonpath.internal.function;
+
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.JsonPathException;
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.spi.function.PathFunctionProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PathFunctionRegistryTest {
+
+    public static class TestFunctionProvider implements PathFunctionProvider {
+        @Override
+        public Map<String, PathFunction> getFunctions() {
+            return Collections.<String, PathFunction>singletonMap("answer", new PathFunction() {
+                @Override
+                public Object invoke(String currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters) {
+                    return 42;
+                }
+            });
+        }
+    }
+
+    @Test
+    public void built_in_functions_are_shared() {
+        assertThat(PathFunctionFactory.getFunction("sum")).isSameAs(PathFunctionFactory.getFunction("sum"));
+        assertThat(PathFunctionFactory.lookup("unknown")).isNull();
+        assertThatThrownBy(() -> PathFunctionFactory.getFunction("unknown"))
+                .isInstanceOf(InvalidPathException.class)
+                .hasMessage("Function with name: unknown does not exist.");
+    }
+
+    @Test
+    public void functions_are_loaded_from_providers() {
+        Integer result = JsonPath.read("{\"a\":1}", "$.answer()");
+
+        assertThat(result).isEqualTo(42);
+    }
+
+    @Test
+    public void registered_functions_can_be_called() {
+        PathFunctionFactory.register("count", new PathFunction() {
+            @Override
+            public Object invoke(String currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters) {
+                return ctx.configuration().jsonProvider().length(model);
+            }
+        });
+
+        Integer result = JsonPath.read("{\"a\":[1,2,3]}", "$.a.count()");
+
+        assertThat(result).isEqualTo(3);
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void parameters_can_be_read_without_context_during_invocation() {
+        PathFunctionFactory.register("firstParameter", new PathFunction() {
+            @Override
+            public Object invoke(String currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters) {
+                return parameters.get(0).getValue();
+            }
+        });
+
+        Integer result = JsonPath.read("{\"a\":[1,2,3]}", "$.firstParameter($.a[1])");
+
+        assertThat(result).isEqualTo(2);
+        assertThatThrownBy(() -> new Parameter("1").getValue())
+                .isInstanceOf(JsonPathException.class);
+    }
+
+    @Test
+    public void aggregations_can_be_evaluated_concurrently() throws Exception {
+        final JsonPath path = JsonPath.compile("$.numbers.sum()");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Double>> futures = new ArrayList<Future<Double>>();
+            for (int i = 0; i < 200; i++) {
+                final int n = i;
+                futures.add(executor.submit(new Callable<Double>() {
+                    @Override
+                    public Double call() {
+                        return path.read("{\"numbers\":[" + n + "," + n + "," + n + "]}");
+                    }
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertThat(futures.get(i).get()).isEqualTo(3d * i);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.jayway.jsonpath.internal.function;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.function.latebinding.PathLateBindingValue;
+import com.jayway.jsonpath.internal.path.PathCompiler;
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PathParameterTest {
+
+    private static Map<String, Object> document(Object... prices) {
+        Map<String, Object> document = new LinkedHashMap<String, Object>() {
+            @Override
+            public String toString() {
+                throw new AssertionError("the document should not be serialized");
+            }
+        };
+        document.put("prices", new ArrayList<Object>(Arrays.asList(prices)));
+        return document;
+    }
+
+    @Test
+    public void path_parameters_do_not_serialize_the_document() {
+        Double sum = JsonPath.read(document(1, 2, 3), "$.sum($.prices)");
+
+        assertThat(sum).isEqualTo(6d);
+    }
+
+    @Test
+    public void path_parameters_are_bound_per_evaluation() {
+        JsonPath path = JsonPath.compile("$.sum($.prices)");
+
+        Double first = path.read(document(1, 2, 3));
+        Double second = path.read(document(4, 5));
+
+        assertThat(first).isEqualTo(6d);
+        assertThat(second).isEqualTo(9d);
+    }
+
+    @Test
+    public void wildcard_path_parameters_are_kept_between_evaluations() {
+        JsonPath path = JsonPath.compile("$.max($..prices[*])");
+
+        Double first = path.read(document(1, 2, 3));
+        Double second = path.read(document(4, 5));
+
+        assertThat(first).isEqualTo(3d);
+        assertThat(second).isEqualTo(5d);
+    }
+
+    @Test
+    public void function_paths_can_be_shared_between_threads() throws Exception {
+        final JsonPath max = JsonPath.compile("$.max($..prices[*])");
+        final JsonPath length = JsonPath.compile("$..prices.length()");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object[]>> futures = new ArrayList<Future<Object[]>>();
+            for (int i = 0; i < 200; i++) {
+                final int n = i;
+                futures.add(executor.submit(new Callable<Object[]>() {
+                    @Override
+                    public Object[] call() {
+                        Object[] prices = new Object[n % 5 + 1];
+                        Arrays.fill(prices, n + 1);
+                        Map<String, Object> document = document(prices);
+                        return new Object[]{max.read(document), length.read(document)};
+                    }
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertThat(futures.get(i).get()).containsExactly(i + 1d, i % 5 + 1);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(max.getPath()).isEqualTo("$.max(...)");
+    }
+
+    @Test
+    public void json_parameters_are_parsed_once_per_provider() {
+        final AtomicInteger parsed = new AtomicInteger();
+        Configuration configuration = Configuration.builder().jsonProvider(new JsonSmartJsonProvider() {
+            @Override
+            public Object parse(String json) {
+                parsed.incrementAndGet();
+                return super.parse(json);
+            }
+        }).build();
+        JsonPath path = JsonPath.compile("$.sum(1, 2, 3)");
+
+        for (int i = 0; i < 3; i++) {
+            Double sum = path.read(document(), configuration);
+            assertThat(sum).isEqualTo(6d);
+        }
+        assertThat(parsed.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void appended_json_parameters_are_copies() {
+        JsonPath path = JsonPath.compile("$.prices.append({\"a\":1})");
+
+        List<Object> first = path.read(document(1));
+        ((Map<String, Object>) first.get(1)).put("a", 2);
+        List<Object> second = path.read(document(1));
+
+        assertThat(second.get(1)).isEqualTo(Collections.singletonMap("a", 1));
+    }
+
+    @Test
+    public void late_binding_is_evaluated_once() {
+        Path path = PathCompiler.compile("$.prices");
+        Map<String, Object> document = document(1, 2);
+        PathLateBindingValue value = new PathLateBindingValue(path, document, Configuration.defaultConfiguration());
+
+        Object result = value.get();
+
+        assertThat(value.get()).isSameAs(result);
+        assertThat(value).isEqualTo(new PathLateBindingValue(path, document, Configuration.defaultConfiguration()));
+        assertThat(value).isNotEqualTo(new PathLateBindingValue(path, document(1, 2), Configuration.defaultConfiguration()));
+    }
+}
@@ -0,0 +1,51 @@
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.BaseTest;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompiledPathConcurrencyTest extends BaseTest {
+
+    @Test
+    public void deep_scan_with_array_index_can_be_shared_between_threads() throws Exception {
+        final JsonPath path = JsonPath.compile("$..[1].author");
+        final Object document = Configuration.defaultConfiguration().jsonProvider().parse(JSON_DOCUMENT);
+        final List<String> expected = path.read(document);
+        assertThat(expected).containsExactly("Evelyn Waugh");
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        for (int i = 0; i < 2000; i++) {
+                            List<String> result = path.read(document);
+                            if (!expected.equals(result)) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertThat(future.get(30, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
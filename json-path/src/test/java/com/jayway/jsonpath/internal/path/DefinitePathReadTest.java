@@ -0,0 +1,88 @@
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Configurations;
+import com.jayway.jsonpath.EvaluationListener;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DefinitePathReadTest {
+
+    private static final String JSON = "{\"a\": {\"b\": null, \"c\": [1, {\"d\": \"x\"}, [2, 3]]}, \"e\": \"text\", \"f\": [], \"g\": 0}";
+
+    private static final String[] PATHS = {
+            "$", "$.a", "$.a.b", "$.a.b.c", "$.a.b[0]", "$.a.c", "$.a.c[0]", "$.a.c[1].d", "$.a.c[-1][1]",
+            "$.a.c[-4]", "$.a.c[3]", "$.a.c[0].d", "$.a.c.d", "$.e", "$.e.length", "$.e[0]", "$.f[0]", "$.g",
+            "$.missing", "$.missing.x", "$['a']['c'][1]['d']", "@.a.c[1]"
+    };
+
+    private static final Option[][] OPTIONS = {
+            {},
+            {Option.SUPPRESS_EXCEPTIONS},
+            {Option.DEFAULT_PATH_LEAF_TO_NULL},
+            {Option.REQUIRE_PROPERTIES},
+            {Option.REQUIRE_PROPERTIES, Option.SUPPRESS_EXCEPTIONS},
+            {Option.REQUIRE_PROPERTIES, Option.DEFAULT_PATH_LEAF_TO_NULL},
+            {Option.ALWAYS_RETURN_LIST},
+            {Option.ALWAYS_RETURN_LIST, Option.SUPPRESS_EXCEPTIONS}
+    };
+
+    private static final Configuration[] CONFIGURATIONS = {
+            Configurations.JSON_SMART_CONFIGURATION,
+            Configurations.JACKSON_CONFIGURATION,
+            Configurations.JACKSON_JSON_NODE_CONFIGURATION,
+            Configurations.GSON_CONFIGURATION,
+            Configurations.JSON_ORG_CONFIGURATION
+    };
+
+    // evaluation listeners need the full evaluation
+    private static final EvaluationListener CONTINUE = found -> EvaluationListener.EvaluationContinuation.CONTINUE;
+
+    @Test
+    public void definite_paths_read_like_they_evaluate() {
+        for (Configuration configuration : CONFIGURATIONS) {
+            Object document = configuration.jsonProvider().parse(JSON);
+            for (Option[] options : OPTIONS) {
+                Configuration read = configuration.addOptions(options);
+                Configuration evaluated = read.addEvaluationListeners(CONTINUE);
+                for (String path : PATHS) {
+                    JsonPath jsonPath = JsonPath.compile(path);
+
+                    assertThat(read(jsonPath, document, read))
+                            .as("%s %s", path, read.getOptions())
+                            .isEqualTo(read(jsonPath, document, evaluated));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void only_paths_of_properties_and_indexes_are_read_without_evaluation() {
+        Configuration configuration = Configuration.defaultConfiguration();
+        Object document = configuration.jsonProvider().parse(JSON);
+
+        assertThat(readDefinite("$.a.c[1].d", document, configuration)).isEqualTo("x");
+        assertThat(readDefinite("$.missing", document, configuration)).isSameAs(CompiledPath.NOT_FOUND);
+        assertThat(readDefinite("$.a.c[*]", document, configuration)).isSameAs(CompiledPath.EVALUATE);
+        assertThat(readDefinite("$.a['b','c']", document, configuration)).isSameAs(CompiledPath.EVALUATE);
+        assertThat(readDefinite("$.a.c.length()", document, configuration)).isSameAs(CompiledPath.EVALUATE);
+        assertThat(readDefinite("$.a.c[1].d", document, configuration.addOptions(Option.AS_PATH_LIST))).isSameAs(CompiledPath.EVALUATE);
+        assertThat(readDefinite("$.missing.x", document, configuration)).isSameAs(CompiledPath.EVALUATE);
+    }
+
+    private static Object readDefinite(String path, Object document, Configuration configuration) {
+        return ((CompiledPath) PathCompiler.compile(path)).readDefinite(document, configuration);
+    }
+
+    private static String read(JsonPath path, Object document, Configuration configuration) {
+        try {
+            Object value = path.read(document, configuration);
+            return value == null ? "null" : value.getClass().getName() + " " + value;
+        } catch (RuntimeException e) {
+            return e.getClass().getName() + " " + e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.BaseTest;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.Path;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EvaluationPathTest extends BaseTest {
+
+    @Test
+    public void path_is_rendered_in_bracket_notation() {
+        EvaluationPath path = EvaluationPath.root("$")
+                .property("store")
+                .property("book")
+                .index(0)
+                .properties(Arrays.asList("author", "title"));
+
+        assertThat(path.toString()).isEqualTo("$['store']['book'][0]['author', 'title']");
+        assertThat(EvaluationPath.root("@").index(1).append(".length").toString()).isEqualTo("@[1].length");
+    }
+
+    @Test
+    public void rendered_path_is_reused() {
+        EvaluationPath path = EvaluationPath.root("$").property("a").index(2);
+
+        assertThat(path.toString()).isSameAs(path.toString());
+    }
+
+    @Test
+    public void value_evaluation_does_not_record_paths() {
+        Path path = PathCompiler.compile("$.store.book[*].author");
+        Object doc = Configuration.defaultConfiguration().jsonProvider().parse(JSON_DOCUMENT);
+
+        EvaluationContext ctx = path.evaluateValues(doc, doc, Configuration.defaultConfiguration());
+
+        assertThat(ctx.hasResults()).isTrue();
+        assertThrows(IllegalStateException.class, ctx::getPathList);
+        assertThrows(IllegalStateException.class, ctx::getPath);
+        assertThat((Iterable<?>) ctx.getValue()).hasSize(4);
+    }
+
+    @Test
+    public void value_evaluation_records_paths_when_requested_by_configuration() {
+        Path path = PathCompiler.compile("$.store.book[*].author");
+        Configuration conf = Configuration.defaultConfiguration().addOptions(Option.AS_PATH_LIST);
+        Object doc = conf.jsonProvider().parse(JSON_DOCUMENT);
+
+        EvaluationContext ctx = path.evaluateValues(doc, doc, conf);
+
+        assertThat(ctx.getPathList()).containsExactly(
+                "$['store']['book'][0]['author']",
+                "$['store']['book'][1]['author']",
+                "$['store']['book'][2]['author']",
+                "$['store']['book'][3]['author']");
+    }
+
+    @Test
+    public void full_evaluation_records_paths() {
+        Path path = PathCompiler.compile("$..book[0].title");
+        Object doc = Configuration.defaultConfiguration().jsonProvider().parse(JSON_DOCUMENT);
+
+        EvaluationContext ctx = path.evaluate(doc, doc, Configuration.defaultConfiguration());
+
+        assertThat(ctx.getPathList()).containsExactly("$['store']['book'][0]['title']");
+    }
+}
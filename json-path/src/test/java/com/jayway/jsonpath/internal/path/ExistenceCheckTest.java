@@ -0,0 +1,82 @@
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Configurations;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExistenceCheckTest {
+
+    private static final String JSON = "{\"a\": {\"b\": null, \"c\": [1, {\"d\": \"x\"}, [2, 3]]}, \"e\": \"text\", \"f\": [], \"g\": 0}";
+
+    private static final String[] PATHS = {
+            "@", "@.a", "@.a.b", "@.a.b.c", "@.a.c", "@.a.c[0]", "@.a.c[1].d", "@.a.c[-1][1]", "@.a.c[-4]",
+            "@.a.c[3]", "@.a.c[0].d", "@.a.c.d", "@.e", "@.e.length", "@.e[0]", "@.f[0]", "@.f[-1]", "@.g",
+            "@.missing", "@.missing.x", "@['a']['c'][1]['d']", "$.a.b"
+    };
+
+    private static final Configuration[] CONFIGURATIONS = {
+            Configurations.JSON_SMART_CONFIGURATION,
+            Configurations.JACKSON_JSON_NODE_CONFIGURATION,
+            Configurations.GSON_CONFIGURATION,
+            Configurations.JSON_ORG_CONFIGURATION
+    };
+
+    @Test
+    public void definite_paths_of_properties_and_indexes_are_checked_without_evaluation() {
+        for (Configuration configuration : CONFIGURATIONS) {
+            JsonProvider jsonProvider = configuration.jsonProvider();
+            Object document = jsonProvider.parse(JSON);
+            for (String path : PATHS) {
+                CompiledPath compiledPath = (CompiledPath) PathCompiler.compile(path);
+
+                CompiledPath.Existence existence = compiledPath.exists(document, jsonProvider);
+
+                assertThat(existence).as(path).isNotEqualTo(CompiledPath.Existence.UNKNOWN);
+                assertThat(existence == CompiledPath.Existence.EXISTS)
+                        .as("%s with %s", path, jsonProvider.getClass().getSimpleName())
+                        .isEqualTo(existsWhenEvaluated(compiledPath, document, jsonProvider));
+            }
+        }
+    }
+
+    @Test
+    public void other_paths_have_to_be_evaluated() {
+        Object document = Configuration.defaultConfiguration().jsonProvider().parse(JSON);
+
+        for (String path : new String[]{"@.a.*", "@..d", "@.a.c[0:1]", "@.a.c[0,1]", "@['a','e']", "@.a.c[?(@.d)]", "@.a.c.length()"}) {
+            assertThat(((CompiledPath) PathCompiler.compile(path)).exists(document, Configuration.defaultConfiguration().jsonProvider()))
+                    .as(path)
+                    .isEqualTo(CompiledPath.Existence.UNKNOWN);
+        }
+    }
+
+    @Test
+    public void existence_filters_select_the_same_items() {
+        String json = "[{\"isbn\": \"1\"}, {\"isbn\": null}, {\"a\": {\"b\": [1]}}, {\"a\": {\"b\": []}}, {\"a\": 1}, 3, [1], null]";
+
+        assertThat(JsonPath.parse(json).read("$[?(@.isbn)]", List.class)).hasSize(2);
+        assertThat(JsonPath.parse(json).read("$[?(!@.isbn)]", List.class)).hasSize(6);
+        assertThat(JsonPath.parse(json).read("$[?(@.a.b[0])]", List.class)).hasSize(1);
+        assertThat(JsonPath.parse(json).read("$[?(@.a.b[-1])]", List.class)).hasSize(1);
+        assertThat(JsonPath.parse(json).read("$[?(@.a.b[*])]", List.class)).hasSize(2);
+        assertThat(JsonPath.parse(json).read("$[?(@.a.b)]", List.class)).hasSize(2);
+    }
+
+    private static boolean existsWhenEvaluated(CompiledPath path, Object document, JsonProvider jsonProvider) {
+        Configuration configuration = Configuration.builder().jsonProvider(jsonProvider).options(Option.REQUIRE_PROPERTIES).build();
+        try {
+            Object result = path.evaluateValues(document, document, configuration).getValue(false);
+            return result != JsonProvider.UNDEFINED;
+        } catch (PathNotFoundException e) {
+            return false;
+        }
+    }
+}
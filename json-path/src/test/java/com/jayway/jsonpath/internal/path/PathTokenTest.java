@@ -31,6 +31,17 @@ public class PathTokenTest extends BaseTest {
         assertThat(makePathReturningTail(new WildcardPathToken(), makePPT("bar"), makePPT("baz")).isUpstreamDefinite()).isFalse();
     }
 
+    @Test
+    public void scans_followed_by_functions_are_not_parallel() {
+        assertThat(compile("$..price").parallelScans()).isTrue();
+        assertThat(compile("$[?(@.tags.length() > 1)]..price").parallelScans()).isTrue();
+        assertThat(compile("$..book[?(@.tags.length() > 1)]").parallelScans()).isFalse();
+        assertThat(compile("$..book[*].price.sum()").parallelScans()).isTrue();
+    }
+
+    private CompiledPath compile(String path) {
+        return (CompiledPath) PathCompiler.compile(path);
+    }
 
     private PathToken makePPT(final String ... properties) {
         return new PropertyPathToken(Arrays.asList(properties), '\'');
@@ -0,0 +1,144 @@
+package com.jayway.jsonpath.spi.cache;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TinyLFUCacheTest {
+
+    private static final JsonPath DUMMY = JsonPath.compile("$");
+
+    @Test
+    public void cache_is_bounded() {
+        TinyLFUCache cache = new TinyLFUCache(200);
+        for (int i = 0; i < 1000; ++i) {
+            String key = String.valueOf(i);
+            cache.get(key);
+            cache.put(key, DUMMY);
+        }
+        assertThat(cache.size()).isEqualTo(200);
+    }
+
+    @Test
+    public void put_replaces_value() {
+        TinyLFUCache cache = new TinyLFUCache(10);
+        JsonPath other = JsonPath.compile("$.a");
+
+        cache.put("a", DUMMY);
+        cache.put("a", other);
+
+        assertThat(cache.get("a")).isSameAs(other);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void removed_entries_are_gone() {
+        TinyLFUCache cache = new TinyLFUCache(10);
+        cache.put("a", DUMMY);
+        cache.put("b", DUMMY);
+
+        cache.remove("a");
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isSameAs(DUMMY);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void frequently_used_paths_survive_a_scan_of_one_off_paths() {
+        TinyLFUCache cache = new TinyLFUCache(100);
+        for (int i = 0; i < 50; i++) {
+            cache.put("hot-" + i, DUMMY);
+        }
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.get("hot-" + i);
+            }
+        }
+        for (int i = 0; i < 10000; i++) {
+            String key = "cold-" + i;
+            if (cache.get(key) == null) {
+                cache.put(key, DUMMY);
+            }
+        }
+
+        int hot = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.getSilent("hot-" + i) != null) {
+                hot++;
+            }
+        }
+        assertThat(hot).isGreaterThanOrEqualTo(45);
+        assertThat(cache.size()).isEqualTo(100);
+    }
+
+    @Test
+    public void cache_stays_bounded_under_concurrent_access() throws Exception {
+        final TinyLFUCache cache = new TinyLFUCache(64);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < 8; t++) {
+                final int offset = t;
+                futures.add(executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int i = 0; i < 20000; i++) {
+                            String key = String.valueOf((i * 31 + offset) % 500);
+                            if (cache.get(key) == null) {
+                                cache.put(key, DUMMY);
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(cache.size()).isLessThanOrEqualTo(64);
+    }
+
+    @Test
+    public void stats_are_empty_when_not_recording() {
+        TinyLFUCache cache = new TinyLFUCache(10);
+        cache.put("a", DUMMY);
+        cache.get("a");
+        cache.get("b");
+        cache.recordCompilation(100);
+
+        assertThat(cache.isRecordingStats()).isFalse();
+        assertThat(cache.stats()).isEqualTo(CacheStats.empty());
+    }
+
+    @Test
+    public void stats_count_hits_misses_evictions_and_compilations() {
+        TinyLFUCache cache = new TinyLFUCache(2, true);
+        cache.get("a");
+        cache.put("a", DUMMY);
+        cache.recordCompilation(100);
+        cache.get("a");
+        cache.put("b", DUMMY);
+        cache.put("c", DUMMY);
+
+        CacheStats stats = cache.stats();
+        assertThat(stats.hitCount()).isEqualTo(1L);
+        assertThat(stats.missCount()).isEqualTo(1L);
+        assertThat(stats.requestCount()).isEqualTo(2L);
+        assertThat(stats.hitRate()).isEqualTo(0.5);
+        assertThat(stats.evictionCount()).isEqualTo(1L);
+        assertThat(stats.compileCount()).isEqualTo(1L);
+        assertThat(stats.totalCompileTime()).isEqualTo(100L);
+        assertThat(stats.minus(stats)).isEqualTo(CacheStats.empty());
+    }
+}